@@ -0,0 +1,98 @@
+package com.islandscholars.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Stress check for application submission against a running backend: many students
+ * submit to one popular internship at the same instant, each several times, and the
+ * outcome is checked against the internship's maxApplicants.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.islandscholars.benchmarks.ApplicationSubmissionStress \
+ *     http://localhost:8080/api 300 50 3
+ * </pre>
+ *
+ * Arguments are the API base URL, the number of students, maxApplicants and the number
+ * of submits per student. The run fails (exit code 1) unless exactly
+ * min(students, maxApplicants) submissions were accepted, every other one got 409, no
+ * request failed with 5xx, and the internship's applicantCount and the organization's
+ * received applications agree with the accepted count.
+ */
+public class ApplicationSubmissionStress {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: ApplicationSubmissionStress <api-base-url> <students> [maxApplicants] [submitsPerStudent]");
+            System.exit(2);
+        }
+        int students = Integer.parseInt(args[1]);
+        int maxApplicants = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int submitsPerStudent = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        boolean passed = run(new StressClient(args[0]), students, maxApplicants, submitsPerStudent);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(StressClient client, int students, int maxApplicants, int submitsPerStudent)
+            throws Exception {
+        String prefix = StressClient.runPrefix();
+
+        String organizationToken = client.signUpAndIn(prefix + "org", "ORGANIZATION");
+        Map<String, Object> internship = new TreeMap<>();
+        internship.put("title", "Stress internship " + prefix);
+        internship.put("description", "Popular internship used by the submission stress check");
+        internship.put("requirements", "None");
+        internship.put("location", "Victoria");
+        internship.put("duration", "THREE_MONTHS");
+        internship.put("applicationDeadline", LocalDate.now().plusDays(30).toString());
+        internship.put("maxApplicants", maxApplicants);
+        long internshipId = client.send("POST", "/internships", organizationToken, internship).path("id").asLong();
+
+        List<String> tokens = client.signUpStudents(prefix, students);
+
+        Map<String, Object> application = Map.of(
+                "internship", Map.of("id", internshipId),
+                "coverLetter", "I would like to join.");
+        List<Callable<Integer>> submits = new ArrayList<>();
+        for (String token : tokens) {
+            for (int s = 0; s < submitsPerStudent; s++) {
+                submits.add(() -> client.sendForStatus("POST", "/applications", token, application));
+            }
+        }
+        long started = System.nanoTime();
+        List<Integer> statuses = StressClient.burst(submits);
+        double elapsedMs = (System.nanoTime() - started) / 1e6;
+
+        Map<Integer, Integer> counts = new TreeMap<>();
+        statuses.forEach(status -> counts.merge(status, 1, Integer::sum));
+        int accepted = counts.getOrDefault(200, 0);
+        int conflicts = counts.getOrDefault(409, 0);
+        int serverErrors = (int) statuses.stream().filter(status -> status >= 500 || status < 0).count();
+        int applicantCount = client.send("GET", "/internships/" + internshipId, organizationToken, null)
+                .path("applicantCount").asInt(-1);
+        int received = 0;
+        for (JsonNode item : client.send("GET", "/applications/received", organizationToken, null)) {
+            if (item.path("internship").path("id").asLong() == internshipId) {
+                received++;
+            }
+        }
+
+        int expected = Math.min(students, maxApplicants);
+        System.out.printf("%d submits from %d students in %.0f ms, status counts %s%n",
+                submits.size(), students, elapsedMs, counts);
+        System.out.printf("accepted=%d (expected %d), 409=%d, 5xx=%d, applicantCount=%d, received=%d%n",
+                accepted, expected, conflicts, serverErrors, applicantCount, received);
+
+        boolean passed = accepted == expected && conflicts == submits.size() - expected && serverErrors == 0
+                && applicantCount == expected && received == expected;
+        System.out.println(passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+}
@@ -0,0 +1,129 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.model.Application;
+import com.islandscholars.model.ApplicationStatus;
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data shaped like production rows, so runs are comparable across releases.
+ */
+final class CatalogFixtures {
+
+    static final String[] TITLES = {
+            "Software Engineering Intern", "Data Analyst Intern", "Network Operations Intern",
+            "Marketing Assistant", "Finance Intern", "Hotel Operations Trainee", "Mobile Developer Intern",
+            "Agronomy Research Intern", "Clinical Records Assistant", "Cybersecurity Intern"};
+
+    static final String[] SKILLS = {
+            "Java", "Spring Boot", "Python", "SQL", "React", "Node.js", "Excel", "Accounting",
+            "Networking", "Linux", "Communication", "Swahili", "Customer Service", "Data Analysis",
+            "Android", "Kotlin", "Figma", "Marketing", "Research", "C++"};
+
+    static final String[] LOCATIONS = {
+            "Stone Town, Zanzibar", "Tunguu, Zanzibar", "Dar es Salaam", "Arusha", "Dodoma",
+            "Mwanza", "Chake Chake, Pemba", "Nungwi, Zanzibar"};
+
+    // Latitude and longitude of each of LOCATIONS, as the gazetteer has them
+    static final double[][] COORDINATES = {
+            {-6.1630, 39.1890}, {-6.2420, 39.3120}, {-6.8161, 39.2803}, {-3.3869, 36.6830}, {-6.1630, 35.7516},
+            {-2.5164, 32.9175}, {-5.2460, 39.7660}, {-5.7270, 39.2970}};
+
+    private static final String[] WORDS = {
+            "build", "support", "team", "customers", "reporting", "systems", "analysis", "field",
+            "operations", "mentorship", "digital", "services", "quality", "projects", "tourism",
+            "banking", "health", "network", "platform", "design"};
+
+    private CatalogFixtures() {}
+
+    static User organization(long id) {
+        User user = new User("org" + id, "org" + id + "@example.co.tz", "{bcrypt}hash",
+                "Org", "Number" + id, Role.ORGANIZATION);
+        user.setId(id);
+        user.setLocation(LOCATIONS[(int) (id % LOCATIONS.length)]);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        return user;
+    }
+
+    static User student(long id) {
+        User user = new User("student" + id, "student" + id + "@example.ac.tz", "{bcrypt}hash",
+                "Student", "Number" + id, Role.STUDENT);
+        user.setId(id);
+        user.setCreatedAt(LocalDateTime.of(2024, 2, 1, 9, 0));
+        return user;
+    }
+
+    static List<Internship> internships(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> organizations = new ArrayList<>();
+        for (long id = 1; id <= Math.max(1, count / 20); id++) {
+            organizations.add(organization(id));
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Internship> internships = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Internship internship = new Internship();
+            internship.setId((long) i + 1);
+            internship.setOrganization(organizations.get(random.nextInt(organizations.size())));
+            internship.setTitle(TITLES[random.nextInt(TITLES.length)]);
+            internship.setDescription(sentence(random, 60));
+            internship.setRequirements(sentence(random, 25));
+            internship.setDuration(Duration.values()[random.nextInt(Duration.values().length)]);
+            int location = random.nextInt(LOCATIONS.length);
+            internship.setLocation(LOCATIONS[location]);
+            internship.setLatitude(COORDINATES[location][0]);
+            internship.setLongitude(COORDINATES[location][1]);
+            internship.setRemote(random.nextInt(4) == 0);
+            internship.setStipendAmount(BigDecimal.valueOf(50_000L * random.nextInt(10)));
+            List<String> skills = new ArrayList<>();
+            for (int s = 0; s < 3 + random.nextInt(4); s++) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            internship.setSkillsRequired(skills);
+            internship.setApplicationDeadline(today.plusDays(random.nextInt(120) - 20));
+            internship.setStartDate(today.plusDays(130));
+            internship.setEndDate(today.plusDays(220));
+            internship.setActive(random.nextInt(10) != 0);
+            internship.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(60)));
+            internship.setUpdatedAt(internship.getCreatedAt());
+            internships.add(internship);
+        }
+        return internships;
+    }
+
+    static Application application(long id, User student, Internship internship) {
+        Application application = new Application();
+        application.setId(id);
+        application.setStudent(student);
+        application.setInternship(internship);
+        application.setCoverLetter(sentence(new Random(id), 150));
+        application.setResumeUrl("https://files.example.co.tz/cv/" + id + ".pdf");
+        application.setAvailability("Full time");
+        application.setPreferredStartDate(LocalDate.now().plusDays(30));
+        application.setStatus(ApplicationStatus.PENDING);
+        application.setAppliedAt(LocalDateTime.now());
+        application.setUpdatedAt(application.getAppliedAt());
+        return application;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
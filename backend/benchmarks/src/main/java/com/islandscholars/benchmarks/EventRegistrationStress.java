@@ -0,0 +1,187 @@
+package com.islandscholars.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Concurrency check and benchmark for event registration against a running backend.
+ * Every student registers for one event at the same instant (twice, to exercise
+ * duplicate handling), then some of the seated students cancel at once.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.islandscholars.benchmarks.EventRegistrationStress \
+ *     http://localhost:8080/api 500 100 20
+ * </pre>
+ *
+ * Arguments are the API base URL, the number of students, maxParticipants and the
+ * number of cancellations. The run fails (exit code 1) unless exactly maxParticipants
+ * students got a seat, the rest got distinct waitlist positions 1..n, every duplicate
+ * got 409, nothing failed with 5xx, and after the cancellations the seats are full
+ * again with exactly the head of the waitlist promoted. Latency percentiles of the
+ * registration burst are printed, so runs with different
+ * {@code events.registration.batch-size} settings can be compared.
+ */
+public class EventRegistrationStress {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: EventRegistrationStress <api-base-url> <students> [maxParticipants] [cancellations]");
+            System.exit(2);
+        }
+        int students = Integer.parseInt(args[1]);
+        int maxParticipants = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int cancellations = args.length > 3 ? Integer.parseInt(args[3]) : maxParticipants / 5;
+
+        boolean passed = run(new StressClient(args[0]), students, maxParticipants, cancellations);
+        System.exit(passed ? 0 : 1);
+    }
+
+    private record Attempt(int student, int status, String body, long nanos) {}
+
+    private static boolean run(StressClient client, int students, int maxParticipants, int cancellations)
+            throws Exception {
+        String prefix = StressClient.runPrefix();
+        boolean passed = true;
+
+        String organizationToken = client.signUpAndIn(prefix + "org", "ORGANIZATION");
+        Map<String, Object> event = new TreeMap<>();
+        event.put("title", "Stress hackathon " + prefix);
+        event.put("description", "Popular event used by the registration stress check");
+        event.put("eventType", "HACKATHON");
+        event.put("location", "Victoria");
+        event.put("startDate", LocalDateTime.now().plusDays(14).withNano(0).toString());
+        event.put("endDate", LocalDateTime.now().plusDays(15).withNano(0).toString());
+        event.put("registrationDeadline", LocalDateTime.now().plusDays(7).withNano(0).toString());
+        event.put("maxParticipants", maxParticipants);
+        event.put("status", "ACTIVE");
+        long eventId = client.send("POST", "/events", organizationToken, event).path("id").asLong();
+        String registrations = "/events/" + eventId + "/registrations";
+
+        List<String> tokens = client.signUpStudents(prefix, students);
+
+        // Registration opens: every student registers twice at the same instant
+        List<Callable<Attempt>> registers = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            int student = i;
+            for (int copy = 0; copy < 2; copy++) {
+                registers.add(() -> attempt(client, "POST", registrations, tokens.get(student), student));
+            }
+        }
+        long started = System.nanoTime();
+        List<Attempt> attempts = StressClient.burst(registers);
+        double elapsedMs = (System.nanoTime() - started) / 1e6;
+
+        Map<Integer, Integer> counts = new TreeMap<>();
+        int seated = 0;
+        Set<Long> positions = new HashSet<>();
+        Map<Integer, Long> positionOf = new TreeMap<>();
+        List<Integer> seatedStudents = new ArrayList<>();
+        for (Attempt attempt : attempts) {
+            counts.merge(attempt.status(), 1, Integer::sum);
+            if (attempt.status() == 200) {
+                JsonNode body = StressClient.MAPPER.readTree(attempt.body());
+                if ("REGISTERED".equals(body.path("status").asText())) {
+                    seated++;
+                    seatedStudents.add(attempt.student());
+                } else {
+                    long position = body.path("waitlistPosition").asLong();
+                    positions.add(position);
+                    positionOf.put(attempt.student(), position);
+                }
+            }
+        }
+        long[] latencies = attempts.stream().mapToLong(Attempt::nanos).sorted().toArray();
+        int expectedSeated = Math.min(students, maxParticipants);
+        int expectedWaitlisted = students - expectedSeated;
+        System.out.printf(Locale.ROOT, "%d registrations from %d students in %.0f ms (%.0f/s), status counts %s%n",
+                attempts.size(), students, elapsedMs, attempts.size() / (elapsedMs / 1000), counts);
+        System.out.printf(Locale.ROOT, "latency ms p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.out.printf("seated=%d (expected %d), waitlisted=%d (expected %d)%n",
+                seated, expectedSeated, positionOf.size(), expectedWaitlisted);
+
+        passed &= check("every student got exactly one 200 and one 409",
+                counts.getOrDefault(200, 0) == students && counts.getOrDefault(409, 0) == students);
+        passed &= check("seats never oversold", seated == expectedSeated);
+        passed &= check("waitlist positions are 1.." + expectedWaitlisted,
+                positions.size() == expectedWaitlisted && positions.stream().allMatch(p -> p >= 1 && p <= expectedWaitlisted));
+
+        // Some seated students cancel at once; the head of the waitlist must move up
+        int cancelling = Math.min(cancellations, seatedStudents.size());
+        List<Callable<Attempt>> cancels = new ArrayList<>();
+        for (int student : seatedStudents.subList(0, cancelling)) {
+            cancels.add(() -> attempt(client, "DELETE", registrations, tokens.get(student), student));
+        }
+        List<Attempt> cancelled = StressClient.burst(cancels);
+        passed &= check(cancelling + " cancellations answered 200",
+                cancelled.stream().allMatch(attempt -> attempt.status() == 200));
+
+        JsonNode list = client.send("GET", registrations, organizationToken, null);
+        int registeredNow = 0;
+        int waitlistedNow = 0;
+        for (JsonNode item : list) {
+            if ("REGISTERED".equals(item.path("status").asText())) {
+                registeredNow++;
+            } else {
+                waitlistedNow++;
+            }
+        }
+        int registeredCount = client.send("GET", "/events/" + eventId, null, null).path("registeredCount").asInt(-1);
+        int expectedPromoted = Math.min(cancelling, expectedWaitlisted);
+        System.out.printf("after %d cancellations: registered=%d, waitlisted=%d, registeredCount=%d%n",
+                cancelling, registeredNow, waitlistedNow, registeredCount);
+        passed &= check("seats refilled from the waitlist",
+                registeredNow == Math.min(students - cancelling, maxParticipants)
+                        && registeredCount == registeredNow
+                        && waitlistedNow == expectedWaitlisted - expectedPromoted);
+
+        // The promoted students must be exactly those who held positions 1..expectedPromoted
+        boolean fifo = true;
+        for (Map.Entry<Integer, Long> entry : positionOf.entrySet()) {
+            JsonNode mine = StressClient.MAPPER.readTree(client.exchange("GET", registrations + "/me",
+                    tokens.get(entry.getKey()), null).body());
+            boolean promoted = "REGISTERED".equals(mine.path("status").asText());
+            fifo &= promoted == (entry.getValue() <= expectedPromoted);
+        }
+        passed &= check("promotion followed waitlist order", fifo);
+
+        System.out.println(passed ? "PASSED" : "FAILED");
+        return passed;
+    }
+
+    private static Attempt attempt(StressClient client, String method, String path, String token, int student)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.exchange(method, path, token, null);
+            return new Attempt(student, response.statusCode(), response.body(), System.nanoTime() - start);
+        } catch (IOException e) {
+            return new Attempt(student, -1, e.toString(), System.nanoTime() - start);
+        }
+    }
+
+    private static boolean check(String description, boolean ok) {
+        System.out.println((ok ? "  ok    " : "  FAIL  ") + description);
+        return ok;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
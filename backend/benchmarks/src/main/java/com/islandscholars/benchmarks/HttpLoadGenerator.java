@@ -0,0 +1,120 @@
+package com.islandscholars.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and
+ * virtual-thread execution modes of a running backend.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.islandscholars.benchmarks.HttpLoadGenerator \
+ *     http://localhost:8080/api/internships 400 30 platform.json [label] [bearer-token]
+ * </pre>
+ *
+ * Each of the {@code concurrency} clients sends its next request as soon as the previous
+ * one completes. Throughput, error count and latency percentiles are written as JSON.
+ */
+public class HttpLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: HttpLoadGenerator <url> <concurrency> <seconds> <result.json> [label] [token]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+        Path output = Path.of(args[3]);
+        String label = args.length > 4 ? args[4] : "run";
+        String token = args.length > 5 ? args[5] : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        // Warm-up so JIT and connection pools settle before measuring
+        runPhase(client, request, concurrency, Math.min(5, seconds), null, new AtomicLong());
+
+        long[][] latencies = new long[concurrency][];
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        runPhase(client, request, concurrency, seconds, latencies, errors);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        String json = String.format(Locale.ROOT,
+                "{%n  \"label\": \"%s\",%n  \"url\": \"%s\",%n  \"concurrency\": %d,%n  \"seconds\": %.1f,%n" +
+                        "  \"requests\": %d,%n  \"errors\": %d,%n  \"throughputPerSecond\": %.1f,%n" +
+                        "  \"latencyMs\": {\"p50\": %.2f, \"p95\": %.2f, \"p99\": %.2f, \"max\": %.2f}%n}%n",
+                label, uri, concurrency, elapsedSeconds, all.length, errors.get(), all.length / elapsedSeconds,
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+        Files.writeString(output, json);
+        System.out.print(json);
+        System.exit(0);
+    }
+
+    private static void runPhase(HttpClient client, HttpRequest request, int concurrency, long seconds,
+                                 long[][] latencies, AtomicLong errors) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int slot = c;
+            clients.execute(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                if (latencies != null) {
+                    latencies[slot] = Arrays.copyOf(samples, count);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        clients.shutdown();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,160 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Industry;
+import com.islandscholars.model.Internship;
+import com.islandscholars.search.GeoPoint;
+import com.islandscholars.search.InternshipFilterIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@code GET /internships?skills=...} with other facets. {@code scan}
+ * checks every row like a query without a usable index; the other benchmarks intersect
+ * the bitmaps of {@link InternshipFilterIndex}. The fixture has only 20 skills, so each
+ * one covers about a quarter of the catalog: the bitmaps are dense and the page has to
+ * be picked from many candidates, the expensive case for the index. The {@code facets}
+ * benchmarks count all sidebar facets over the whole catalog and over a filtered one.
+ * {@code scanRadius}, {@code withinRadius} and {@code nearest} compare a haversine scan
+ * with the grid for "within 20 km of Stone Town" and for nearest-first ordering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InternshipFilterBenchmark {
+
+    @Param({"10000", "100000"})
+    public int datasetSize;
+
+    private static final int PAGE = 21;
+
+    private static final GeoPoint STONE_TOWN = new GeoPoint(-6.1630, 39.1890);
+    private static final double RADIUS_KM = 20;
+
+    private List<Internship> catalog;
+    private InternshipFilterIndex index;
+    private Map<String, Integer> tagIds;
+    private LocalDate today;
+    private Internship updated;
+
+    @Setup
+    public void setUp() {
+        catalog = CatalogFixtures.internships(datasetSize, 7);
+        tagIds = new HashMap<>();
+        for (String skill : CatalogFixtures.SKILLS) {
+            tagIds.put(skill, tagIds.size() + 1);
+        }
+        Map<Long, Industry> industries = new HashMap<>();
+        for (Internship internship : catalog) {
+            Long organizationId = internship.getOrganization().getId();
+            industries.put(organizationId, Industry.values()[(int) (organizationId % Industry.values().length)]);
+        }
+        index = new InternshipFilterIndex(tagIds::get);
+        index.rebuild(catalog, industries);
+        today = LocalDate.now();
+        updated = catalog.get(datasetSize / 2);
+    }
+
+    @Benchmark
+    public List<Internship> scan() {
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : catalog) {
+            if (internship.isActive()
+                    && internship.getApplicationDeadline().isAfter(today)
+                    && internship.isRemote()
+                    && internship.getSkillsRequired().contains("Java")
+                    && internship.getSkillsRequired().contains("SQL")) {
+                result.add(internship);
+            }
+        }
+        result.sort((a, b) -> a.getApplicationDeadline().compareTo(b.getApplicationDeadline()));
+        return result.subList(0, Math.min(PAGE, result.size()));
+    }
+
+    @Benchmark
+    public List<Long> allSkillsRemote() {
+        return index.pageByDeadline(filter(null, true, true, "Java", "SQL"), today, today, Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> anySkillDuration() {
+        return index.pageByDeadline(filter(Duration.THREE_MONTHS, null, false, "Kotlin", "Android", "Figma"),
+                today, today, Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> threeSkillsNewest() {
+        return index.pageByNewest(filter(null, null, true, "Python", "SQL", "Excel"),
+                today, today.plusDays(1).atStartOfDay(), Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public InternshipFilterIndex.Facets facets() {
+        return index.facets(new InternshipFilterIndex.Filter(null, null, null, null, null, false, null, null),
+                today, 20);
+    }
+
+    @Benchmark
+    public InternshipFilterIndex.Facets facetsFiltered() {
+        return index.facets(filter(Duration.THREE_MONTHS, false, false, "Java", "SQL"), today, 20);
+    }
+
+    @Benchmark
+    public List<Internship> scanRadius() {
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : catalog) {
+            if (internship.isActive()
+                    && internship.getApplicationDeadline().isAfter(today)
+                    && STONE_TOWN.distanceKm(new GeoPoint(internship.getLatitude(), internship.getLongitude())) <= RADIUS_KM) {
+                result.add(internship);
+            }
+        }
+        result.sort((a, b) -> a.getApplicationDeadline().compareTo(b.getApplicationDeadline()));
+        return result.subList(0, Math.min(PAGE, result.size()));
+    }
+
+    @Benchmark
+    public List<Long> withinRadius() {
+        return index.pageByDeadline(new InternshipFilterIndex.Filter(null, null, null, null, null, false,
+                STONE_TOWN, RADIUS_KM), today, today, Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> nearest() {
+        return index.pageByDistance(new InternshipFilterIndex.Filter(null, null, null, null, null, false,
+                STONE_TOWN, null), today, -1, Long.MAX_VALUE, PAGE);
+    }
+
+    @Benchmark
+    public int update() {
+        index.index(updated);
+        return index.size();
+    }
+
+    private InternshipFilterIndex.Filter filter(Duration duration, Boolean remote, boolean all, String... skills) {
+        List<Integer> ids = new ArrayList<>();
+        for (String skill : skills) {
+            ids.add(tagIds.get(skill));
+        }
+        return new InternshipFilterIndex.Filter(null, null, duration, remote, ids, all, null, null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.search.InternshipSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The internship filter/search path over an embedded catalog. {@code scan} reproduces
+ * the predicate of InternshipRepository.findInternshipsWithFilters row by row, which is
+ * what a LIKE '%x%' query costs the database; {@code indexSearch} uses the BM25 index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InternshipSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int datasetSize;
+
+    @Param({"intern"})
+    public String query;
+
+    private List<Internship> catalog;
+    private InternshipSearchIndex index;
+    private LocalDate today;
+    private Internship updated;
+
+    @Setup
+    public void setUp() {
+        catalog = CatalogFixtures.internships(datasetSize, 7);
+        index = new InternshipSearchIndex();
+        index.rebuild(catalog);
+        today = LocalDate.now();
+        updated = catalog.get(datasetSize / 2);
+    }
+
+    @Benchmark
+    public List<Internship> scan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : catalog) {
+            if (internship.isActive()
+                    && internship.getTitle().toLowerCase(Locale.ROOT).contains(needle)
+                    && internship.getDuration() == Duration.THREE_MONTHS
+                    && !internship.isRemote()) {
+                result.add(internship);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<InternshipSearchIndex.SearchHit> indexSearch() {
+        return index.search(query, null, Duration.THREE_MONTHS, false, today, 20);
+    }
+
+    @Benchmark
+    public List<InternshipSearchIndex.SearchHit> indexSearchUnfiltered() {
+        return index.search(query, null, null, null, today, 20);
+    }
+
+    @Benchmark
+    public int indexUpdate() {
+        index.index(updated);
+        return index.size();
+    }
+}
@@ -0,0 +1,179 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.model.User;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.security.services.LoginAuthenticationProvider;
+import com.islandscholars.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * User queries per sign-in: the previous flow (eager username-then-email lookup in
+ * AuthService followed by DaoAuthenticationProvider reloading the user) against
+ * LoginAuthenticationProvider. The repository is an in-memory fake that counts calls
+ * and parks for -p queryLatencyMicros to stand in for the database round trip; the
+ * "queries" and "logins" secondary results give the per-login query count, which is
+ * also printed after each iteration. Hashing is stubbed out so only the lookups are
+ * measured (see PasswordHashingBenchmark for BCrypt).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "8Characters**";
+
+    @Param({"0", "200"})
+    public long queryLatencyMicros;
+
+    @Param({"username", "email"})
+    public String loginBy;
+
+    private UserRepository userRepository;
+    private AuthenticationManager legacyManager;
+    private AuthenticationManager providerManager;
+    private String login;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class QueryCounter {
+        public long queries;
+        public long logins;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            queries = 0;
+            logins = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            if (logins > 0) {
+                System.out.printf("%n  user queries per login: %.2f%n", (double) queries / logins);
+            }
+        }
+    }
+
+    // Counts against whichever QueryCounter the running benchmark thread registered
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    @Setup
+    public void setUp() {
+        User user = CatalogFixtures.student(1);
+        user.setPassword(PASSWORD);
+        userRepository = countingRepository(user);
+        login = "email".equals(loginBy) ? user.getEmail() : user.getUsername();
+
+        PasswordEncoder plainEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+
+        // Mirrors the removed UserDetailsServiceImpl
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(plainEncoder);
+        dao.setUserDetailsService(username -> userRepository.findByUsername(username)
+                .map(UserDetailsImpl::build)
+                .orElseThrow(() -> new UsernameNotFoundException(username)));
+        legacyManager = new ProviderManager(dao);
+        providerManager = new ProviderManager(new LoginAuthenticationProvider(userRepository, plainEncoder));
+    }
+
+    @Benchmark
+    public Authentication legacyLogin(QueryCounter counter) {
+        CURRENT.set(counter);
+        counter.logins++;
+        // The eager orElse always ran the email query, even when the username matched.
+        // The original also threw from inside it on username logins; that part is left out.
+        User user = userRepository.findByUsername(login)
+                .orElse(userRepository.findByEmail(login).orElse(null));
+        return legacyManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), PASSWORD));
+    }
+
+    @Benchmark
+    public Authentication providerLogin(QueryCounter counter) {
+        CURRENT.set(counter);
+        counter.logins++;
+        return providerManager.authenticate(new UsernamePasswordAuthenticationToken(login, PASSWORD));
+    }
+
+    private void countQuery() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.queries++;
+        }
+        if (queryLatencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(queryLatencyMicros));
+        }
+    }
+
+    private UserRepository countingRepository(User user) {
+        Map<String, User> byUsername = new HashMap<>(Map.of(user.getUsername(), user));
+        Map<String, User> byEmail = new HashMap<>(Map.of(user.getEmail(), user));
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByUsername", "findByEmail" -> {
+                            countQuery();
+                            Map<String, User> index = method.getName().equals("findByUsername") ? byUsername : byEmail;
+                            return Optional.ofNullable(index.get((String) args[0]));
+                        }
+                        case "findByUsernameOrEmail" -> {
+                            countQuery();
+                            Set<User> matches = new LinkedHashSet<>();
+                            Optional.ofNullable(byUsername.get((String) args[0])).ifPresent(matches::add);
+                            Optional.ofNullable(byEmail.get((String) args[0])).ifPresent(matches::add);
+                            return new ArrayList<>(matches);
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "toString" -> {
+                            return "CountingUserRepository";
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,153 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.OrganizationProfile;
+import com.islandscholars.model.StudentProfile;
+import com.islandscholars.search.SkillMatchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-K recommendations from {@link SkillMatchIndex} at production scale: by default
+ * 100k students and 10k internships over a vocabulary of 2000 skills with a Zipf-like
+ * long tail. {@code internshipsForStudent} scans every internship for one student,
+ * {@code studentsForInternship} scans every student for one internship, and
+ * {@code studentUpdate} is the incremental cost of a profile change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationBenchmark {
+
+    @Param({"100000"})
+    public int students;
+
+    @Param({"10000"})
+    public int internships;
+
+    @Param({"2000"})
+    public int vocabulary;
+
+    @Param({"20"})
+    public int limit;
+
+    private SkillMatchIndex index;
+    private LocalDate today;
+    private long[] studentIds;
+    private long[] internshipIds;
+    private StudentProfile updated;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        String[] skills = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            skills[i] = i < CatalogFixtures.SKILLS.length ? CatalogFixtures.SKILLS[i] : "Skill " + i;
+        }
+        double[] cumulative = zipf(vocabulary);
+
+        List<Internship> catalog = CatalogFixtures.internships(internships, 7);
+        for (Internship internship : catalog) {
+            internship.setSkillsRequired(sample(random, skills, cumulative, 3 + random.nextInt(6)));
+        }
+
+        Map<Long, OrganizationProfile> organizations = new HashMap<>();
+        for (Internship internship : catalog) {
+            organizations.computeIfAbsent(internship.getOrganization().getId(), id -> {
+                OrganizationProfile organization = new OrganizationProfile();
+                organization.setUser(internship.getOrganization());
+                organization.setDesiredSkills(sample(random, skills, cumulative, random.nextInt(5)));
+                return organization;
+            });
+        }
+
+        List<StudentProfile> profiles = new ArrayList<>(students);
+        for (int i = 0; i < students; i++) {
+            StudentProfile profile = new StudentProfile();
+            profile.setUser(CatalogFixtures.student(1_000_000L + i));
+            profile.setSkills(sample(random, skills, cumulative, 3 + random.nextInt(10)));
+            profiles.add(profile);
+        }
+
+        Map<String, Integer> tagIds = new HashMap<>();
+        for (String skill : skills) {
+            tagIds.put(skill, tagIds.size() + 1);
+        }
+        String[] tagNames = new String[tagIds.size() + 1];
+        tagIds.forEach((skill, id) -> tagNames[id] = skill);
+        index = new SkillMatchIndex(tagIds::get, id -> tagNames[id]);
+        index.rebuild(catalog, profiles, organizations.values());
+        today = LocalDate.now();
+        studentIds = profiles.stream().mapToLong(profile -> profile.getUser().getId()).toArray();
+        internshipIds = catalog.stream().mapToLong(Internship::getId).toArray();
+        updated = profiles.get(students / 2);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextQuery() {
+        cursor++;
+    }
+
+    @Benchmark
+    public List<SkillMatchIndex.Match> internshipsForStudent() {
+        return index.topInternships(studentIds[cursor % studentIds.length], today, Set.of(), limit);
+    }
+
+    @Benchmark
+    public List<SkillMatchIndex.Match> studentsForInternship() {
+        return index.topStudents(internshipIds[cursor % internshipIds.length], limit);
+    }
+
+    @Benchmark
+    public int studentUpdate() {
+        index.indexStudent(updated);
+        return index.studentCount();
+    }
+
+    private static double[] zipf(int size) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static List<String> sample(Random random, String[] skills, double[] cumulative, int count) {
+        Set<String> chosen = new LinkedHashSet<>();
+        while (chosen.size() < count) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            chosen.add(skills[Math.min(rank < 0 ? -rank - 1 : rank, skills.length - 1)]);
+        }
+        return new ArrayList<>(chosen);
+    }
+}
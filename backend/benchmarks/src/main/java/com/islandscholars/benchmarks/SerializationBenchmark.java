@@ -0,0 +1,73 @@
+package com.islandscholars.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.islandscholars.model.Application;
+import com.islandscholars.model.Internship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the entity graphs the REST API returns.
+ * The mapper mirrors Spring Boot's defaults (ISO dates, JavaTimeModule).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int listSize;
+
+    private ObjectMapper mapper;
+    private Internship internship;
+    private List<Internship> internships;
+    private List<Application> applications;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        internships = CatalogFixtures.internships(listSize, 42);
+        internship = internships.get(0);
+        applications = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            applications.add(CatalogFixtures.application(i + 1, CatalogFixtures.student(10_000 + i),
+                    internships.get(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] internship() throws Exception {
+        return mapper.writeValueAsBytes(internship);
+    }
+
+    @Benchmark
+    public byte[] internshipList() throws Exception {
+        return mapper.writeValueAsBytes(internships);
+    }
+
+    @Benchmark
+    public byte[] applicationList() throws Exception {
+        return mapper.writeValueAsBytes(applications);
+    }
+}
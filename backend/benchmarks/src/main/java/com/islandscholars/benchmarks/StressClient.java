@@ -0,0 +1,145 @@
+package com.islandscholars.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Minimal JSON client for the stress checks: creates throwaway accounts and fires
+ * bursts of requests that are all released at the same instant.
+ */
+class StressClient {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PASSWORD = "stress-secret";
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    StressClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    // Accounts get a run-specific prefix, so a check can be repeated against the same database
+    static String runPrefix() {
+        return "st" + Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+    }
+
+    String signUpAndIn(String username, String role) throws Exception {
+        Map<String, Object> signup = new TreeMap<>();
+        signup.put("username", username);
+        signup.put("email", username + "@stress.test");
+        signup.put("password", PASSWORD);
+        signup.put("firstName", "Stress");
+        signup.put("lastName", "Test");
+        signup.put("role", role);
+        if ("ORGANIZATION".equals(role)) {
+            signup.put("companyName", "Stress Co " + username);
+            signup.put("industry", "technology");
+        }
+        sendRetrying("/auth/signup", signup);
+        return sendRetrying("/auth/signin", Map.of("usernameOrEmail", username, "password", PASSWORD))
+                .path("accessToken").asText();
+    }
+
+    List<String> signUpStudents(String prefix, int students) throws Exception {
+        System.out.printf("Signing up %d students...%n", students);
+        // Sign-up and sign-in are hashing-bound, so a few threads are enough
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            String username = prefix + "s" + i;
+            futures.add(pool.submit(() -> signUpAndIn(username, "STUDENT")));
+        }
+        List<String> tokens = new ArrayList<>(students);
+        for (Future<String> future : futures) {
+            tokens.add(future.get());
+        }
+        pool.shutdown();
+        return tokens;
+    }
+
+    /** Runs every task on its own thread, released together; returns results in task order. */
+    static <T> List<T> burst(List<Callable<T>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(tasks.size(), 400)));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    JsonNode send(String method, String path, String token, Object body) throws Exception {
+        HttpResponse<String> response = exchange(method, path, token, body);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(method + " " + path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    /** Status code of the exchange, or -1 if it failed at the transport level. */
+    int sendForStatus(String method, String path, String token, Object body) throws InterruptedException {
+        try {
+            return exchange(method, path, token, body).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    HttpResponse<String> exchange(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // The hashing pool answers 429 when saturated; back off and try again
+    private JsonNode sendRetrying(String path, Object body) throws Exception {
+        while (true) {
+            HttpResponse<String> response = exchange("POST", path, null, body);
+            if (response.statusCode() == 429) {
+                Thread.sleep(200);
+                continue;
+            }
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " answered " + response.statusCode() + ": " + response.body());
+            }
+            return MAPPER.readTree(response.body());
+        }
+    }
+}
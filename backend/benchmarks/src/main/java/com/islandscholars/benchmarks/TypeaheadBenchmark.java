@@ -0,0 +1,95 @@
+package com.islandscholars.benchmarks;
+
+import com.islandscholars.search.NameTypeahead;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name autocomplete over generated organization names. {@code scan} is what
+ * findByCompanyNameContainingIgnoreCase plus a sort by popularity costs per keystroke;
+ * {@code suggest} uses the prefix index. "u" is the worst case for the index, since
+ * almost every name has a word starting with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeaheadBenchmark {
+
+    private static final String[] FIRST = {
+            "Zanzibar", "Pemba", "Unguja", "Dar es Salaam", "Mwambao", "Kilimanjaro", "Serengeti",
+            "Bahari", "Jambo", "Msasani", "Kariakoo", "Nungwi", "Chake Chake", "Mkoani", "Tumbatu"
+    };
+
+    private static final String[] MIDDLE = {
+            "Spice", "Ocean", "Digital", "Tourism", "Fisheries", "Health", "Solar", "Agro",
+            "Logistics", "Textile", "Software", "Media", "Marine", "Coral", "Clove", "Dhow"
+    };
+
+    private static final String[] LAST = {
+            "Ltd", "Company", "Group", "Cooperative", "Trust", "Foundation", "Holdings",
+            "Services", "Institute", "Union", "Partners", "Ventures", "Studio", "Works"
+    };
+
+    private record Row(long id, String name, int popularity) {}
+
+    @Param({"50000"})
+    public int datasetSize;
+
+    @Param({"u", "dar es", "zanzibar spi"})
+    public String query;
+
+    private List<Row> rows;
+    private NameTypeahead typeahead;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        rows = new ArrayList<>(datasetSize);
+        typeahead = new NameTypeahead();
+        for (int i = 0; i < datasetSize; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + MIDDLE[random.nextInt(MIDDLE.length)]
+                    + " " + LAST[random.nextInt(LAST.length)] + " " + (i + 1);
+            // Long-tailed like real posting counts: most names have a handful, a few have hundreds
+            int popularity = (int) Math.floor(Math.pow(random.nextDouble(), 4) * 500);
+            rows.add(new Row(i + 1, name, popularity));
+            typeahead.put(i + 1, name, popularity);
+        }
+    }
+
+    @Benchmark
+    public List<Row> scan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Row> matches = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.name().toLowerCase(Locale.ROOT).contains(needle)) {
+                matches.add(row);
+            }
+        }
+        matches.sort(Comparator.comparingInt(Row::popularity).reversed().thenComparing(Row::name));
+        return matches.subList(0, Math.min(10, matches.size()));
+    }
+
+    @Benchmark
+    public List<NameTypeahead.Suggestion> suggest() {
+        return typeahead.suggest(query, 10);
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.islandscholars.service.AuthService;
 
 @SpringBootApplication
+@EnableScheduling
 public class IslandScholarsBackendApplication implements CommandLineRunner {
 
     @Autowired
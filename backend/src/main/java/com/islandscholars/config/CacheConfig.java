@@ -0,0 +1,57 @@
+package com.islandscholars.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through caches for the public catalog endpoints. Caffeine's W-TinyLFU
+ * policy keeps the frequently read entries; services evict precisely on writes
+ * and the TTL bounds staleness of time-dependent lists such as upcoming events.
+ * {@link #RESOURCE_VERSIONS} holds the validators for conditional GETs, see
+ * ResourceVersionService.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String INTERNSHIP_BY_ID = "internshipById";
+    public static final String EVENT_BY_ID = "eventById";
+    public static final String EVENT_LISTS = "eventLists";
+    public static final String UNIVERSITY_BY_ID = "universityById";
+    public static final String UNIVERSITY_LISTS = "universityLists";
+    public static final String ORGANIZATION_BY_ID = "organizationById";
+    public static final String ORGANIZATION_LISTS = "organizationLists";
+    public static final String RESOURCE_VERSIONS = "resourceVersions";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.catalog.max-weight:20000}") long maxWeight,
+                                     @Value("${cache.catalog.ttl-seconds:300}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Object key, Object value) -> weightOf(value))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        // Fixed set of caches so they are created, and registered for metrics, at startup
+        cacheManager.setCacheNames(List.of(INTERNSHIP_BY_ID, EVENT_BY_ID, EVENT_LISTS,
+                UNIVERSITY_BY_ID, UNIVERSITY_LISTS, ORGANIZATION_BY_ID, ORGANIZATION_LISTS, RESOURCE_VERSIONS));
+        return cacheManager;
+    }
+
+    // A cached list weighs as much as the entities it holds
+    private static int weightOf(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+}
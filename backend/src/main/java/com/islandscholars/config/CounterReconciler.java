@@ -0,0 +1,52 @@
+package com.islandscholars.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * internships.applicant_count and events.registered_count are kept up to date by
+ * conditional updates in the services, but rows that existed before the columns were
+ * added start at 0, and rows changed outside the application would drift. At startup
+ * every count that disagrees with the rows it counts is recomputed, and its updated_at
+ * moved so conditional GETs see the change; rows that already agree are not rewritten.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CounterReconciler implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private static final String HELD_APPLICANT_SLOTS =
+            "(SELECT COUNT(*) FROM applications a " +
+            "WHERE a.internship_id = internships.id AND a.status <> 'WITHDRAWN')";
+
+    private static final String HELD_EVENT_SEATS =
+            "(SELECT COUNT(*) FROM event_registrations r " +
+            "WHERE r.event_id = events.id AND r.status = 'REGISTERED')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        reconcile("internships", "applicant_count", HELD_APPLICANT_SLOTS);
+        reconcile("events", "registered_count", HELD_EVENT_SEATS);
+    }
+
+    private void reconcile(String table, String column, String expected) {
+        int corrected = jdbcTemplate.update(
+                "UPDATE " + table + " SET " + column + " = " + expected + ", updated_at = ?" +
+                " WHERE " + column + " <> " + expected, LocalDateTime.now());
+        if (corrected > 0) {
+            logger.info("Recomputed {}.{} for {} rows", table, column, corrected);
+        }
+    }
+}
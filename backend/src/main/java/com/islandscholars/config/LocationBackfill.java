@@ -0,0 +1,76 @@
+package com.islandscholars.config;
+
+import com.islandscholars.search.Gazetteer;
+import com.islandscholars.search.GeoPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Internships and events saved before locations were geocoded have no coordinates.
+ * At startup this runner geocodes every row still without them and stores the result,
+ * before the spatial indexes are built. Rows whose place the gazetteer does not know
+ * stay empty and are looked at again on the next start, so places added to the
+ * gazetteer later are picked up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class LocationBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationBackfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final List<String> TABLES = List.of("internships", "events");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Override
+    public void run(String... args) {
+        for (String table : TABLES) {
+            // updated_at moves too, so conditional GETs see the new coordinates
+            String update = "UPDATE " + table + " SET latitude = ?, longitude = ?, updated_at = ? WHERE id = ?";
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            int[] counts = {0, 0};
+            jdbcTemplate.query("SELECT id, location FROM " + table +
+                            " WHERE latitude IS NULL AND location IS NOT NULL",
+                    (ResultSet resultSet) -> {
+                        counts[0]++;
+                        GeoPoint point = gazetteer.geocode(resultSet.getString(2)).orElse(null);
+                        if (point == null) {
+                            return;
+                        }
+                        batch.add(new Object[] {point.latitude(), point.longitude(), now, resultSet.getLong(1)});
+                        if (batch.size() == BATCH_SIZE) {
+                            counts[1] += batch.size();
+                            jdbcTemplate.batchUpdate(update, batch);
+                            batch.clear();
+                        }
+                    });
+            if (!batch.isEmpty()) {
+                counts[1] += batch.size();
+                jdbcTemplate.batchUpdate(update, batch);
+            }
+            if (counts[1] > 0) {
+                logger.info("Geocoded {} of {} {} without coordinates", counts[1], counts[0], table);
+            } else if (counts[0] > 0) {
+                logger.debug("None of {} {} without coordinates are in the gazetteer", counts[0], table);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.islandscholars.config;
+
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class NotificationConfig {
+
+    // One client for the whole application so connections and threads are pooled
+    @Bean
+    public OkHttpClient notificationHttpClient(
+            @Value("${notifications.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${notifications.read-timeout-ms:5000}") long readTimeoutMs) {
+        return new OkHttpClient.Builder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .writeTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+    }
+}
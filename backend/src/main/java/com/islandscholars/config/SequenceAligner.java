@@ -0,0 +1,64 @@
+package com.islandscholars.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Tables created before ids moved from IDENTITY columns to pooled sequences already
+ * hold rows, while ddl-auto creates each sequence starting at 1. Before anything is
+ * inserted, every sequence is pushed past the highest existing id (plus one
+ * allocation block) so the first pooled range cannot collide with old rows.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SequenceAligner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceAligner.class);
+
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "student_profiles_seq", "student_profiles",
+            "organization_profiles_seq", "organization_profiles",
+            "universities_seq", "universities",
+            "internships_seq", "internships",
+            "applications_seq", "applications",
+            "events_seq", "events",
+            "event_registrations_seq", "event_registrations",
+            "notification_outbox_seq", "notification_outbox");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (!isPostgres()) {
+            return;
+        }
+        SEQUENCES.forEach((sequence, table) -> {
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST(" +
+                    "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", " +
+                    "(SELECT last_value FROM " + sequence + ")))",
+                    Long.class);
+            logger.debug("Sequence {} aligned at {}", sequence, value);
+        });
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+}
@@ -0,0 +1,183 @@
+package com.islandscholars.config;
+
+import com.islandscholars.service.TagDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Skills, desired skills, event tags and university programs used to be stored as
+ * free text, one row per value. They now hold ids from the {@code tags} dictionary.
+ * At startup this runner seeds the configured aliases and copies every legacy
+ * collection table that is still present into its id table, then renames it to
+ * {@code <table>_legacy}, all in one transaction per table, so a restarted or
+ * interrupted migration simply runs again. The renamed tables can be dropped once
+ * the data has been checked.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class TagMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagMigration.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    // ownerTable is set where the owner has an updated_at that conditional GETs rely on
+    private record Collection(String legacyTable, String ownerColumn, String valueColumn, String table,
+                              String ownerTable) {}
+
+    private static final List<Collection> COLLECTIONS = List.of(
+            new Collection("internship_skills", "internship_id", "skill", "internship_skill_ids", "internships"),
+            new Collection("student_skills", "student_profile_id", "skill", "student_skill_ids", null),
+            new Collection("organization_desired_skills", "organization_profile_id", "skill", "organization_desired_skill_ids", null),
+            new Collection("event_tags", "event_id", "tag", "event_tag_ids", "events"),
+            new Collection("university_programs", "university_id", "program", "university_program_ids", "universities"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    // alias=Canonical pairs, e.g. "js=JavaScript"
+    @Value("${tags.aliases:}")
+    private List<String> aliases;
+
+    @Override
+    public void run(String... args) {
+        seedAliases();
+        for (Collection collection : COLLECTIONS) {
+            if (!tableExists(collection.legacyTable())) {
+                continue;
+            }
+            if (tableExists(collection.legacyTable() + "_legacy")) {
+                logger.warn("Not migrating {}: {}_legacy already exists", collection.legacyTable(),
+                        collection.legacyTable());
+                continue;
+            }
+            Integer rows = transactionTemplate.execute(status -> migrate(collection));
+            logger.info("Migrated {} rows of {} to {}", rows, collection.legacyTable(), collection.table());
+        }
+    }
+
+    private void seedAliases() {
+        for (String pair : aliases) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                logger.warn("Ignoring tag alias '{}', expected alias=Canonical", pair);
+                continue;
+            }
+            String alias = pair.substring(0, separator);
+            // A tag registered under the alias's spelling before the alias existed is merged into
+            // the canonical one. The alias is only committed once every table has been merged, so
+            // an interrupted merge finds the shadowed tag again on the next start and is redone
+            Integer shadowed = tagDictionary.findByNormalizedName(alias).orElse(null);
+            Integer canonical = tagDictionary.idFor(pair.substring(separator + 1));
+            if (shadowed != null && canonical != null && !shadowed.equals(canonical)) {
+                transactionTemplate.executeWithoutResult(status -> merge(shadowed, canonical));
+                logger.info("Merged tag {} ('{}') into {}", shadowed, alias.trim(), canonical);
+            }
+            tagDictionary.alias(alias, pair.substring(separator + 1));
+        }
+    }
+
+    private void merge(Integer shadowed, Integer canonical) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Collection collection : COLLECTIONS) {
+            // The owners now show the canonical spelling
+            if (collection.ownerTable() != null) {
+                jdbcTemplate.update("UPDATE " + collection.ownerTable() + " SET updated_at = ? WHERE id IN " +
+                        "(SELECT " + collection.ownerColumn() + " FROM " + collection.table() +
+                        " WHERE tag_id = ?)", now, shadowed);
+            }
+            // An owner with both spellings keeps one row, as migrate() leaves it
+            jdbcTemplate.update("DELETE FROM " + collection.table() + " WHERE tag_id = ? AND " +
+                    collection.ownerColumn() + " IN (SELECT " + collection.ownerColumn() + " FROM " +
+                    collection.table() + " WHERE tag_id = ?)", shadowed, canonical);
+            jdbcTemplate.update("UPDATE " + collection.table() + " SET tag_id = ? WHERE tag_id = ?",
+                    canonical, shadowed);
+        }
+    }
+
+    private int migrate(Collection collection) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT DISTINCT " + collection.valueColumn() + " FROM " + collection.legacyTable(),
+                (ResultSet resultSet) -> {
+                    String value = resultSet.getString(1);
+                    Integer id = tagDictionary.idFor(value);
+                    if (id != null) {
+                        ids.put(value, id);
+                    }
+                });
+
+        // Values that collapse into one tag (case, spacing, aliases) are stored once per owner
+        String insert = "INSERT INTO " + collection.table() + " (" + collection.ownerColumn() + ", tag_id) VALUES (?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        Set<Integer> ownerTags = new HashSet<>();
+        long[] owner = {Long.MIN_VALUE};
+        int[] written = {0};
+        jdbcTemplate.query("SELECT " + collection.ownerColumn() + ", " + collection.valueColumn() +
+                        " FROM " + collection.legacyTable() + " ORDER BY " + collection.ownerColumn(),
+                (ResultSet resultSet) -> {
+                    long current = resultSet.getLong(1);
+                    if (current != owner[0]) {
+                        owner[0] = current;
+                        ownerTags.clear();
+                    }
+                    Integer id = ids.get(resultSet.getString(2));
+                    if (id != null && ownerTags.add(id)) {
+                        batch.add(new Object[] {current, id});
+                    }
+                    if (batch.size() == BATCH_SIZE) {
+                        written[0] += batch.size();
+                        jdbcTemplate.batchUpdate(insert, batch);
+                        batch.clear();
+                    }
+                });
+        if (!batch.isEmpty()) {
+            written[0] += batch.size();
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + collection.legacyTable() +
+                " RENAME TO " + collection.legacyTable() + "_legacy");
+        return written[0];
+    }
+
+    // PostgreSQL folds unquoted names to lower case, H2 to upper case
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : List.of(table, table.toUpperCase())) {
+                try (ResultSet tables = metaData.getTables(null, null, name, new String[] {"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,32 @@
+package com.islandscholars.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            logger.info("Serving requests on platform threads (Java {})", javaVersion);
+        } else if (javaVersion < 21) {
+            // Spring Boot silently ignores the setting below Java 21
+            logger.warn("Virtual threads were requested but Java {} does not support them; " +
+                    "falling back to platform threads", javaVersion);
+        } else {
+            logger.info("Serving requests on virtual threads (Java {}); run with -Djdk.tracePinnedThreads=short " +
+                    "to log carrier pinning", javaVersion);
+        }
+    }
+}
@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,15 +19,26 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.islandscholars.dto.MessageResponse;
+import com.islandscholars.dto.application.BulkStatusUpdateRequest;
+import com.islandscholars.dto.application.BulkStatusUpdateResponse;
+import com.islandscholars.dto.application.InternshipApplicationStats;
+import com.islandscholars.dto.auth.StreamTokenResponse;
 import com.islandscholars.model.Application;
 import com.islandscholars.model.ApplicationStatus;
 import com.islandscholars.model.User;
 import com.islandscholars.repository.InternshipRepository;
 import com.islandscholars.repository.UserRepository;
+import com.islandscholars.security.jwt.JwtUtils;
 import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.service.ApplicationRejectedException;
 import com.islandscholars.service.ApplicationService;
+import com.islandscholars.service.ApplicationStatsService;
+import com.islandscholars.service.DashboardStreamService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -42,25 +55,73 @@ public class ApplicationController {
     @Autowired
     private InternshipRepository internshipRepository;
 
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private ApplicationStatsService applicationStatsService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
     @PostMapping
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<Application> createApplication(@Valid @RequestBody Application application,
-                                                         Authentication authentication) {
+    public ResponseEntity<?> createApplication(@Valid @RequestBody Application application,
+                                               Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User student = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User student = userRepository.getReferenceById(userDetails.getId());
 
         application.setStudent(student);
-        Application savedApplication = applicationService.createApplication(application);
-        return ResponseEntity.ok(savedApplication);
+        try {
+            Application savedApplication = applicationService.createApplication(application);
+            return ResponseEntity.ok(savedApplication);
+        } catch (ApplicationRejectedException e) {
+            HttpStatus status = switch (e.getReason()) {
+                case INTERNSHIP_NOT_FOUND -> HttpStatus.NOT_FOUND;
+                case CLOSED -> HttpStatus.BAD_REQUEST;
+                case FULL, DUPLICATE -> HttpStatus.CONFLICT;
+            };
+            return ResponseEntity.status(status).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Pushes application-created and application-status-changed events for the caller's
+     * own applications (students) or received applications (organizations), so dashboards
+     * need not poll their lists. Browsers, whose EventSource cannot send headers, pass a
+     * token from {@code POST /stream-token} as {@code access_token} instead.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ORGANIZATION')")
+    public SseEmitter streamChanges(Authentication authentication, HttpServletResponse response) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Stops nginx from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return dashboardStreamService.subscribe(userDetails.getId());
+    }
+
+    // The token is only checked when the stream opens, so it may expire while the stream stays up
+    @PostMapping("/stream-token")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ORGANIZATION')")
+    public StreamTokenResponse streamToken(Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return new StreamTokenResponse(jwtUtils.generateStreamToken(userDetails), jwtUtils.getStreamExpirationMs());
+    }
+
+    // Counts per internship and status, read from the incrementally maintained statistics
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<List<InternshipApplicationStats>> getApplicationStats(Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return ResponseEntity.ok(applicationStatsService.getOrganizationStats(userDetails.getId()));
     }
 
     @GetMapping("/my-applications")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<Application>> getMyApplications(Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User student = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User student = userRepository.getReferenceById(userDetails.getId());
 
         List<Application> applications = applicationService.getApplicationsByStudent(student);
         return ResponseEntity.ok(applications);
@@ -70,8 +131,7 @@ public class ApplicationController {
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<List<Application>> getReceivedApplications(Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User organization = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User organization = userRepository.getReferenceById(userDetails.getId());
 
         List<Application> applications = applicationService.getApplicationsByOrganization(organization);
         return ResponseEntity.ok(applications);
@@ -98,9 +158,9 @@ public class ApplicationController {
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ORGANIZATION')")
-    public ResponseEntity<Application> updateApplicationStatus(@PathVariable Long id,
-                                                                @RequestBody Map<String, Object> statusUpdate,
-                                                                Authentication authentication) {
+    public ResponseEntity<?> updateApplicationStatus(@PathVariable Long id,
+                                                     @RequestBody Map<String, Object> statusUpdate,
+                                                     Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         Application application = applicationService.getApplicationById(id)
@@ -111,19 +171,34 @@ public class ApplicationController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        ApplicationStatus status = ApplicationStatus.valueOf((String) statusUpdate.get("status"));
-        String reviewerNotes = (String) statusUpdate.get("reviewerNotes");
+        try {
+            ApplicationStatus status = ApplicationStatus.valueOf((String) statusUpdate.get("status"));
+            String reviewerNotes = (String) statusUpdate.get("reviewerNotes");
+
+            Application updatedApplication = applicationService.updateApplicationStatus(id, status, reviewerNotes);
+            return ResponseEntity.ok(updatedApplication);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateApplicationStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request,
+            Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        Application updatedApplication = applicationService.updateApplicationStatus(id, status, reviewerNotes);
-        return ResponseEntity.ok(updatedApplication);
+        BulkStatusUpdateResponse response = applicationService.bulkUpdateStatus(userDetails.getId(),
+                request.getApplicationIds(), request.getStatus(), request.getReviewerNotes());
+        return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{id}/withdraw")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<Application> withdrawApplication(@PathVariable Long id, Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User student = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User student = userRepository.getReferenceById(userDetails.getId());
 
         Application withdrawnApplication = applicationService.withdrawApplication(id, student);
         return ResponseEntity.ok(withdrawnApplication);
@@ -1,5 +1,7 @@
 package com.islandscholars.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,15 +11,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.islandscholars.dto.MessageResponse;
+import com.islandscholars.dto.auth.JwtResponse;
 import com.islandscholars.dto.auth.LoginRequest;
 import com.islandscholars.dto.auth.SignupRequest;
-import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.security.PasswordHashingRejectedException;
 import com.islandscholars.service.AuthService;
 
 import jakarta.validation.Valid;
 
 @RestController
-@RequestMapping("/api/auth")
+@RequestMapping("/auth")
 @CrossOrigin(origins = "*") // Adjust allowed origins as needed
 public class AuthController {
 
@@ -30,8 +33,10 @@ public class AuthController {
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            UserDetailsImpl userDetails = authService.authenticateUser(loginRequest);
-            return ResponseEntity.ok(userDetails);
+            JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
+            return ResponseEntity.ok(jwtResponse);
+        } catch (PasswordHashingRejectedException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -43,6 +48,8 @@ public class AuthController {
         try {
             String message = authService.registerUser(signUpRequest);
             return ResponseEntity.ok(new MessageResponse(message));
+        } catch (PasswordHashingRejectedException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             e.printStackTrace(); // Replace with proper logging if possible
             return ResponseEntity.badRequest()
@@ -50,6 +57,13 @@ public class AuthController {
         }
     }
 
+    // The hashing queue is full; a retry a moment later normally gets through
+    private ResponseEntity<MessageResponse> tooManyRequests(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
     @GetMapping("/test")
     public ResponseEntity<?> testEndpoint() {
         return ResponseEntity.ok(new MessageResponse("Backend is running"));
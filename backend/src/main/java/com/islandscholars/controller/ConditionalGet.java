@@ -0,0 +1,50 @@
+package com.islandscholars.controller;
+
+import com.islandscholars.dto.ResourceVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET for catalog endpoints. The request's validators are compared with a
+ * {@link ResourceVersion} looked up before anything is loaded, so a 304 costs no entity
+ * loading. Responses say {@code no-cache}: clients keep them, but revalidate each time.
+ *
+ * <p>A single row is also validated by Last-Modified. A list is not, as the newest
+ * {@code updatedAt} of its rows does not move when one of them is deleted; only its
+ * ETag, which carries the row count as well, stands for it.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    /** Whether the client's copy is still current, per If-None-Match or else If-Modified-Since. */
+    static boolean isCurrent(HttpServletRequest request, ResourceVersion version, boolean row) {
+        // Without a response, ServletWebRequest only evaluates the request headers
+        return new ServletWebRequest(request).checkNotModified(version.eTag(), lastModified(version, row));
+    }
+
+    static <T> ResponseEntity<T> notModified(ResourceVersion version, boolean row) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version, row).build();
+    }
+
+    static <T> ResponseEntity<T> ok(T body, ResourceVersion version, boolean row) {
+        return withValidators(ResponseEntity.ok(), version, row).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder,
+                                                             ResourceVersion version, boolean row) {
+        builder.eTag(version.eTag()).cacheControl(CacheControl.noCache());
+        long lastModified = lastModified(version, row);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private static long lastModified(ResourceVersion version, boolean row) {
+        return row && version.lastModified() != null ? version.lastModifiedAt().toInstant().toEpochMilli() : -1;
+    }
+}
@@ -1,9 +1,13 @@
 package com.islandscholars.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -14,15 +18,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.islandscholars.dto.ImportResult;
+import com.islandscholars.dto.MessageResponse;
+import com.islandscholars.dto.ResourceVersion;
+import com.islandscholars.dto.event.EventRegistrationResponse;
 import com.islandscholars.model.Event;
+import com.islandscholars.model.EventType;
 import com.islandscholars.model.User;
 import com.islandscholars.repository.UserRepository;
+import com.islandscholars.search.Gazetteer;
 import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.service.CatalogImportService;
+import com.islandscholars.service.EventRegistrationException;
+import com.islandscholars.service.EventRegistrationService;
 import com.islandscholars.service.EventService;
+import com.islandscholars.service.ResourceVersionService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -36,22 +53,63 @@ public class EventController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
+    public ResponseEntity<List<Event>> getAllEvents(HttpServletRequest request) {
+        ResourceVersion version = resourceVersionService.activeEvents();
+        if (ConditionalGet.isCurrent(request, version, false)) {
+            return ConditionalGet.notModified(version, false);
+        }
+        // The list may be a cached copy, so its ETag comes from what is served
         List<Event> events = eventService.getAllActiveEvents();
-        return ResponseEntity.ok(events);
+        return ConditionalGet.ok(events, ResourceVersion.of(events, Event::getUpdatedAt), false);
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
+    public ResponseEntity<List<Event>> getUpcomingEvents(HttpServletRequest request) {
+        ResourceVersion version = resourceVersionService.upcomingEvents();
+        if (ConditionalGet.isCurrent(request, version, false)) {
+            return ConditionalGet.notModified(version, false);
+        }
         List<Event> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(events);
+        return ConditionalGet.ok(events, ResourceVersion.of(events, Event::getUpdatedAt), false);
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyEvents(@RequestParam(required = false) String near,
+                                             @RequestParam(required = false) Double lat,
+                                             @RequestParam(required = false) Double lon,
+                                             @RequestParam(required = false) Double radiusKm,
+                                             @RequestParam(required = false) EventType eventType,
+                                             @RequestParam(required = false) Integer size) {
+        try {
+            List<Event> events = eventService.getNearbyEvents(gazetteer.resolve(near, lat, lon), radiusKm,
+                    eventType, size);
+            return ResponseEntity.ok(events);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
+    public ResponseEntity<Event> getEventById(@PathVariable Long id, HttpServletRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.event(id);
+        if (version.isPresent() && ConditionalGet.isCurrent(request, version.get(), true)) {
+            return ConditionalGet.notModified(version.get(), true);
+        }
         return eventService.getEventById(id)
-                .map(event -> ResponseEntity.ok().body(event))
+                .map(event -> ConditionalGet.ok(event, new ResourceVersion(event.getUpdatedAt(), 1), true))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -59,14 +117,26 @@ public class EventController {
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<Event> createEvent(@Valid @RequestBody Event event, Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User organization = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User organization = userRepository.getReferenceById(userDetails.getId());
 
         event.setOrganization(organization);
         Event savedEvent = eventService.createEvent(event);
         return ResponseEntity.ok(savedEvent);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<ImportResult> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                     InputStream body,
+                                                     Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        User organization = userRepository.getReferenceById(userDetails.getId());
+
+        ImportResult result = catalogImportService.importEvents(organization, body,
+                CatalogImportService.Format.of(contentType));
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<Event> updateEvent(@PathVariable Long id, @Valid @RequestBody Event eventDetails,
@@ -102,12 +172,87 @@ public class EventController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{id}/registrations")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> register(@PathVariable Long id, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        try {
+            EventRegistrationResponse registration = eventRegistrationService.register(id, userDetails.getId());
+            return ResponseEntity.ok(registration);
+        } catch (EventRegistrationException e) {
+            return registrationError(e);
+        }
+    }
+
+    @DeleteMapping("/{id}/registrations")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> cancelRegistration(@PathVariable Long id, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        try {
+            eventRegistrationService.cancel(id, userDetails.getId());
+            return ResponseEntity.ok(new MessageResponse("Registration cancelled"));
+        } catch (EventRegistrationException e) {
+            return registrationError(e);
+        }
+    }
+
+    @GetMapping("/{id}/registrations/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<EventRegistrationResponse> getMyRegistration(@PathVariable Long id,
+                                                                       Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        return eventRegistrationService.getRegistration(id, userDetails.getId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/registrations")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<List<EventRegistrationResponse>> getRegistrations(@PathVariable Long id,
+                                                                            Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        // Verify that the event belongs to the authenticated organization
+        Event existingEvent = eventService.getEventById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (!existingEvent.getOrganization().getId().equals(userDetails.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(eventRegistrationService.getRegistrationsForEvent(id));
+    }
+
+    @GetMapping("/my-registrations")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<EventRegistrationResponse>> getMyRegistrations(Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        return ResponseEntity.ok(eventRegistrationService.getRegistrationsForStudent(userDetails.getId()));
+    }
+
+    private ResponseEntity<MessageResponse> registrationError(EventRegistrationException e) {
+        MessageResponse body = new MessageResponse("Error: " + e.getMessage());
+        return switch (e.getReason()) {
+            case EVENT_NOT_FOUND, NOT_REGISTERED -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+            case CLOSED -> ResponseEntity.badRequest().body(body);
+            case ALREADY_REGISTERED -> ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+            // The queue is full; a retry a moment later normally gets through
+            case BUSY -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(body);
+            case PENDING -> ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+        };
+    }
+
     @GetMapping("/my-events")
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<List<Event>> getMyEvents(Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User organization = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User organization = userRepository.getReferenceById(userDetails.getId());
 
         List<Event> events = eventService.getEventsByOrganization(organization);
         return ResponseEntity.ok(events);
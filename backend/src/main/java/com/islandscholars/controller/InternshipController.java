@@ -1,9 +1,13 @@
 package com.islandscholars.controller;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -14,17 +18,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.islandscholars.dto.CursorPage;
+import com.islandscholars.dto.InternshipSort;
+import com.islandscholars.dto.ResourceVersion;
+import com.islandscholars.dto.SkillMatch;
+import com.islandscholars.dto.MessageResponse;
+import com.islandscholars.dto.ImportResult;
+import com.islandscholars.dto.internship.InternshipCatalogPage;
+import com.islandscholars.dto.recommendation.InternshipRecommendation;
+import com.islandscholars.dto.recommendation.StudentRecommendation;
 import com.islandscholars.model.Duration;
 import com.islandscholars.model.Internship;
 import com.islandscholars.model.User;
 import com.islandscholars.repository.UserRepository;
+import com.islandscholars.search.Gazetteer;
+import com.islandscholars.search.GeoPoint;
 import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.service.CatalogImportService;
 import com.islandscholars.service.InternshipService;
+import com.islandscholars.service.RecommendationService;
+import com.islandscholars.service.ResourceVersionService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -38,26 +58,105 @@ public class InternshipController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
-    public ResponseEntity<List<Internship>> getAllInternships(
+    public ResponseEntity<?> getAllInternships(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Duration duration,
-            @RequestParam(required = false) Boolean isRemote) {
-
-        List<Internship> internships;
-        if (title != null || location != null || duration != null || isRemote != null) {
-            internships = internshipService.searchInternships(title, location, duration, isRemote);
-        } else {
-            internships = internshipService.getAllActiveInternships();
+            @RequestParam(required = false) Boolean isRemote,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(defaultValue = "ANY") SkillMatch skillMatch,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "DEADLINE") InternshipSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean facets,
+            HttpServletRequest request) {
+
+        try {
+            GeoPoint center = gazetteer.resolve(near, lat, lon);
+            // Taken before the page is read, so the page is never older than its ETag
+            ResourceVersion version = resourceVersionService.internshipCatalog(title, location, duration, isRemote,
+                    facets);
+            if (ConditionalGet.isCurrent(request, version, false)) {
+                return ConditionalGet.notModified(version, false);
+            }
+            CursorPage<Internship> page = internshipService.getInternshipPage(
+                    title, location, duration, isRemote, skills, skillMatch, center, radiusKm, sort, cursor, size);
+            if (facets) {
+                return ConditionalGet.ok(new InternshipCatalogPage(page, internshipService.getCatalogFacets(
+                        title, location, duration, isRemote, skills, skillMatch, center, radiusKm)), version, false);
+            }
+            return ConditionalGet.ok(page, version, false);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Internship>> searchInternships(
+            @RequestParam String q,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Duration duration,
+            @RequestParam(required = false) Boolean isRemote,
+            @RequestParam(required = false) Integer size) {
+
+        List<Internship> internships = internshipService.fullTextSearch(q, location, duration, isRemote, size);
         return ResponseEntity.ok(internships);
     }
 
+    @GetMapping("/recommended")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<InternshipRecommendation>> getRecommendedInternships(
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return ResponseEntity.ok(recommendationService.recommendInternships(userDetails.getId(), size));
+    }
+
+    @GetMapping("/{id}/recommended-students")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<List<StudentRecommendation>> getRecommendedStudents(@PathVariable Long id,
+                                                                              @RequestParam(required = false) Integer size,
+                                                                              Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        Internship internship = internshipService.getInternshipById(id).orElse(null);
+        if (internship == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!internship.getOrganization().getId().equals(userDetails.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(recommendationService.recommendStudents(id, size));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Internship> getInternshipById(@PathVariable Long id) {
+    public ResponseEntity<Internship> getInternshipById(@PathVariable Long id, HttpServletRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.internship(id);
+        if (version.isPresent() && ConditionalGet.isCurrent(request, version.get(), true)) {
+            return ConditionalGet.notModified(version.get(), true);
+        }
+        // The ETag comes from the internship served, which may be a cached copy
         return internshipService.getInternshipById(id)
-                .map(internship -> ResponseEntity.ok().body(internship))
+                .map(internship -> ConditionalGet.ok(internship,
+                        new ResourceVersion(internship.getUpdatedAt(), 1), true))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -66,14 +165,26 @@ public class InternshipController {
     public ResponseEntity<Internship> createInternship(@Valid @RequestBody Internship internship,
                                                        Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User organization = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User organization = userRepository.getReferenceById(userDetails.getId());
 
         internship.setOrganization(organization);
         Internship savedInternship = internshipService.createInternship(internship);
         return ResponseEntity.ok(savedInternship);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<ImportResult> importInternships(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          InputStream body,
+                                                          Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        User organization = userRepository.getReferenceById(userDetails.getId());
+
+        ImportResult result = catalogImportService.importInternships(organization, body,
+                CatalogImportService.Format.of(contentType));
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<Internship> updateInternship(@PathVariable Long id,
@@ -114,8 +225,7 @@ public class InternshipController {
     @PreAuthorize("hasRole('ORGANIZATION')")
     public ResponseEntity<List<Internship>> getMyInternships(Authentication authentication) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        User organization = userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User organization = userRepository.getReferenceById(userDetails.getId());
 
         List<Internship> internships = internshipService.getInternshipsByOrganization(organization);
         return ResponseEntity.ok(internships);
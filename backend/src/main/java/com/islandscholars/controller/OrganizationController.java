@@ -1,8 +1,10 @@
 package com.islandscholars.controller;
 
+import com.islandscholars.dto.NameSuggestion;
 import com.islandscholars.model.Industry;
 import com.islandscholars.model.OrganizationProfile;
-import com.islandscholars.repository.OrganizationProfileRepository;
+import com.islandscholars.service.OrganizationService;
+import com.islandscholars.service.TypeaheadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +17,10 @@ import java.util.List;
 public class OrganizationController {
 
     @Autowired
-    private OrganizationProfileRepository organizationProfileRepository;
+    private OrganizationService organizationService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
 
     @GetMapping
     public ResponseEntity<List<OrganizationProfile>> getAllOrganizations(
@@ -25,19 +30,26 @@ public class OrganizationController {
         List<OrganizationProfile> organizations;
         
         if (search != null && !search.isEmpty()) {
-            organizations = organizationProfileRepository.findByCompanyNameContainingIgnoreCase(search);
+            organizations = organizationService.searchOrganizations(search);
         } else if (industry != null) {
-            organizations = organizationProfileRepository.findByIndustry(industry);
+            organizations = organizationService.getOrganizationsByIndustry(industry);
         } else {
-            organizations = organizationProfileRepository.findAll();
+            organizations = organizationService.getAllOrganizations();
         }
         
         return ResponseEntity.ok(organizations);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NameSuggestion>> suggestOrganizations(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(typeaheadService.suggestOrganizations(q, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrganizationProfile> getOrganizationById(@PathVariable Long id) {
-        return organizationProfileRepository.findById(id)
+        return organizationService.getOrganizationById(id)
                 .map(organization -> ResponseEntity.ok().body(organization))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -1,12 +1,30 @@
 package com.islandscholars.controller;
 
+import com.islandscholars.dto.MessageResponse;
+import com.islandscholars.dto.NameSuggestion;
+import com.islandscholars.dto.ResourceVersion;
+import com.islandscholars.dto.RosterImportJob;
 import com.islandscholars.model.University;
+import com.islandscholars.repository.UniversityRepository;
+import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.service.ResourceVersionService;
+import com.islandscholars.service.RosterImportService;
+import com.islandscholars.service.TypeaheadService;
 import com.islandscholars.service.UniversityService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -16,21 +34,50 @@ public class UniversityController {
     @Autowired
     private UniversityService universityService;
 
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     @GetMapping
-    public ResponseEntity<List<University>> getAllUniversities(@RequestParam(required = false) String search) {
+    public ResponseEntity<List<University>> getAllUniversities(@RequestParam(required = false) String search,
+                                                               HttpServletRequest request) {
+        ResourceVersion version = resourceVersionService.universities(search);
+        if (ConditionalGet.isCurrent(request, version, false)) {
+            return ConditionalGet.notModified(version, false);
+        }
         List<University> universities;
         if (search != null && !search.isEmpty()) {
             universities = universityService.searchUniversities(search);
         } else {
             universities = universityService.getAllUniversities();
         }
-        return ResponseEntity.ok(universities);
+        // The list may be a cached copy, so its ETag comes from what is served
+        return ConditionalGet.ok(universities, ResourceVersion.of(universities, University::getUpdatedAt), false);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<NameSuggestion>> suggestUniversities(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(typeaheadService.suggestUniversities(q, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<University> getUniversityById(@PathVariable Long id) {
+    public ResponseEntity<University> getUniversityById(@PathVariable Long id, HttpServletRequest request) {
+        Optional<ResourceVersion> version = resourceVersionService.university(id);
+        if (version.isPresent() && ConditionalGet.isCurrent(request, version.get(), true)) {
+            return ConditionalGet.notModified(version.get(), true);
+        }
         return universityService.getUniversityById(id)
-                .map(university -> ResponseEntity.ok().body(university))
+                .map(university -> ConditionalGet.ok(university, new ResourceVersion(university.getUpdatedAt(), 1), true))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -40,4 +87,34 @@ public class UniversityController {
                 .map(university -> ResponseEntity.ok().body(university))
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/roster", consumes = "text/csv")
+    @PreAuthorize("hasRole('UNIVERSITY')")
+    public ResponseEntity<?> importRoster(InputStream body, Authentication authentication) throws IOException {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        University university = universityRepository.findByUserId(userDetails.getId()).orElse(null);
+        if (university == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: No university profile for this account"));
+        }
+
+        try {
+            RosterImportJob job = rosterImportService.submit(university, body);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/universities/roster/" + job.getId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new MessageResponse("Error: Too many roster imports queued, try again later"));
+        }
+    }
+
+    @GetMapping("/roster/{jobId}")
+    @PreAuthorize("hasRole('UNIVERSITY')")
+    public ResponseEntity<RosterImportJob> getRosterImport(@PathVariable String jobId, Authentication authentication) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return universityRepository.findByUserId(userDetails.getId())
+                .flatMap(university -> rosterImportService.getJob(jobId, university.getId()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.islandscholars.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Synchronized because background imports are polled for progress while they run
+public class ImportResult {
+
+    // Per-row errors beyond this are only counted, so a bad upload cannot bloat the response
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private int received;
+    private int imported;
+    private int rejected;
+    private List<RowError> errors = new ArrayList<>();
+
+    public synchronized void recordReceived() { received++; }
+
+    public synchronized void recordImported(int count) { imported += count; }
+
+    public synchronized void recordRejected(int line, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public synchronized int getReceived() { return received; }
+    public synchronized int getImported() { return imported; }
+    public synchronized int getRejected() { return rejected; }
+    public synchronized List<RowError> getErrors() { return List.copyOf(errors); }
+
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
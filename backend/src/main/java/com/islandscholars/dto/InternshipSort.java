@@ -0,0 +1,10 @@
+package com.islandscholars.dto;
+
+public enum InternshipSort {
+    // applicationDeadline ascending, id ascending
+    DEADLINE,
+    // createdAt descending, id descending
+    NEWEST,
+    // distance from near or lat/lon ascending, id ascending
+    DISTANCE
+}
@@ -0,0 +1,27 @@
+package com.islandscholars.dto;
+
+import com.islandscholars.search.NameTypeahead;
+
+public class NameSuggestion {
+    private Long id;
+    private String name;
+    // Registered students for a university, internships posted for an organization
+    private int popularity;
+
+    public static NameSuggestion of(NameTypeahead.Suggestion suggestion) {
+        NameSuggestion result = new NameSuggestion();
+        result.id = suggestion.id();
+        result.name = suggestion.name();
+        result.popularity = suggestion.popularity();
+        return result;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getPopularity() { return popularity; }
+    public void setPopularity(int popularity) { this.popularity = popularity; }
+}
@@ -0,0 +1,41 @@
+package com.islandscholars.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * What a GET response is validated by: the newest {@code updatedAt} among the rows it is
+ * built from and how many rows that is. Inserting, updating or deleting any of those
+ * rows changes at least one of the two, so an equal version means an equal response.
+ * {@code lastModified} is null when there are no rows.
+ */
+public record ResourceVersion(LocalDateTime lastModified, long count) {
+
+    /** The version of rows already loaded, equal to the one the database reports for them. */
+    public static <T> ResourceVersion of(Collection<T> rows, Function<T, LocalDateTime> updatedAt) {
+        LocalDateTime newest = null;
+        for (T row : rows) {
+            LocalDateTime value = updatedAt.apply(row);
+            if (value != null && (newest == null || value.isAfter(newest))) {
+                newest = value;
+            }
+        }
+        return new ResourceVersion(newest, rows.size());
+    }
+
+    /** Strong entity tag; microseconds, as that is what the database keeps of a timestamp. */
+    public String eTag() {
+        long micros = lastModified == null ? 0
+                : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastModified);
+        return "\"" + Long.toString(count, 36) + "-" + Long.toString(micros, 36) + "\"";
+    }
+
+    // updatedAt is written in the server's zone
+    public ZonedDateTime lastModifiedAt() {
+        return lastModified == null ? null : lastModified.atZone(ZoneId.systemDefault());
+    }
+}
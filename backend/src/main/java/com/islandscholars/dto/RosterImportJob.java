@@ -0,0 +1,45 @@
+package com.islandscholars.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public class RosterImportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final Long universityId;
+    private final ImportResult result = new ImportResult();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile State state = State.QUEUED;
+    private volatile int totalRows;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failure;
+
+    public RosterImportJob(String id, Long universityId) {
+        this.id = id;
+        this.universityId = universityId;
+    }
+
+    public String getId() { return id; }
+
+    @JsonIgnore
+    public Long getUniversityId() { return universityId; }
+
+    public ImportResult getResult() { return result; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getFailure() { return failure; }
+    public void setFailure(String failure) { this.failure = failure; }
+}
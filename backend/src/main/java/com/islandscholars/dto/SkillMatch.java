@@ -0,0 +1,8 @@
+package com.islandscholars.dto;
+
+public enum SkillMatch {
+    // at least one of the listed skills
+    ANY,
+    // every listed skill
+    ALL
+}
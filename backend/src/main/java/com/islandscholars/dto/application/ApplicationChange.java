@@ -0,0 +1,37 @@
+package com.islandscholars.dto.application;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.islandscholars.model.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pushed to dashboards over GET /applications/stream; several ids when a bulk update moved them together
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApplicationChange {
+
+    private List<Long> applicationIds;
+    private Long internshipId;
+    private ApplicationStatus status;
+    private LocalDateTime occurredAt;
+
+    public ApplicationChange(List<Long> applicationIds, Long internshipId, ApplicationStatus status,
+                             LocalDateTime occurredAt) {
+        this.applicationIds = applicationIds;
+        this.internshipId = internshipId;
+        this.status = status;
+        this.occurredAt = occurredAt;
+    }
+
+    public List<Long> getApplicationIds() { return applicationIds; }
+    public void setApplicationIds(List<Long> applicationIds) { this.applicationIds = applicationIds; }
+
+    public Long getInternshipId() { return internshipId; }
+    public void setInternshipId(Long internshipId) { this.internshipId = internshipId; }
+
+    public ApplicationStatus getStatus() { return status; }
+    public void setStatus(ApplicationStatus status) { this.status = status; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
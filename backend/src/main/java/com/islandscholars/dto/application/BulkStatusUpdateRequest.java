@@ -0,0 +1,34 @@
+package com.islandscholars.dto.application;
+
+import com.islandscholars.model.ApplicationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<Long> applicationIds;
+
+    @NotNull
+    private ApplicationStatus status;
+
+    @Size(max = 1000)
+    private String reviewerNotes;
+
+    // Constructors
+    public BulkStatusUpdateRequest() {}
+
+    // Getters and Setters
+    public List<Long> getApplicationIds() { return applicationIds; }
+    public void setApplicationIds(List<Long> applicationIds) { this.applicationIds = applicationIds; }
+
+    public ApplicationStatus getStatus() { return status; }
+    public void setStatus(ApplicationStatus status) { this.status = status; }
+
+    public String getReviewerNotes() { return reviewerNotes; }
+    public void setReviewerNotes(String reviewerNotes) { this.reviewerNotes = reviewerNotes; }
+}
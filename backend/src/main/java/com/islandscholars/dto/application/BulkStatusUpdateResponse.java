@@ -0,0 +1,26 @@
+package com.islandscholars.dto.application;
+
+import java.util.List;
+
+public class BulkStatusUpdateResponse {
+    private int requested;
+    private int updated;
+    private List<BulkStatusUpdateResult> results;
+
+    public BulkStatusUpdateResponse(List<BulkStatusUpdateResult> results) {
+        this.requested = results.size();
+        this.updated = (int) results.stream()
+                .filter(result -> result.getOutcome() == BulkStatusUpdateResult.Outcome.UPDATED)
+                .count();
+        this.results = results;
+    }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public List<BulkStatusUpdateResult> getResults() { return results; }
+    public void setResults(List<BulkStatusUpdateResult> results) { this.results = results; }
+}
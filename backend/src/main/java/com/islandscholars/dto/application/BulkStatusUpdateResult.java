@@ -0,0 +1,27 @@
+package com.islandscholars.dto.application;
+
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        FORBIDDEN,
+        INVALID_TRANSITION,
+        // Passed the checks but changed concurrently before the update ran
+        CONFLICT
+    }
+
+    private Long applicationId;
+    private Outcome outcome;
+
+    public BulkStatusUpdateResult(Long applicationId, Outcome outcome) {
+        this.applicationId = applicationId;
+        this.outcome = outcome;
+    }
+
+    public Long getApplicationId() { return applicationId; }
+    public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+}
@@ -0,0 +1,39 @@
+package com.islandscholars.dto.application;
+
+import com.islandscholars.model.ApplicationStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class InternshipApplicationStats {
+    private Long internshipId;
+    private String internshipTitle;
+    // Every status is present, zero when no application is in it
+    private Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+    private long total;
+
+    public InternshipApplicationStats(Long internshipId, String internshipTitle) {
+        this.internshipId = internshipId;
+        this.internshipTitle = internshipTitle;
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            counts.put(status, 0L);
+        }
+    }
+
+    public void add(ApplicationStatus status, long count) {
+        counts.merge(status, count, Long::sum);
+        total += count;
+    }
+
+    public Long getInternshipId() { return internshipId; }
+    public void setInternshipId(Long internshipId) { this.internshipId = internshipId; }
+
+    public String getInternshipTitle() { return internshipTitle; }
+    public void setInternshipTitle(String internshipTitle) { this.internshipTitle = internshipTitle; }
+
+    public Map<ApplicationStatus, Long> getCounts() { return counts; }
+    public void setCounts(Map<ApplicationStatus, Long> counts) { this.counts = counts; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
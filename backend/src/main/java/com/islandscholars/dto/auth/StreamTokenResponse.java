@@ -0,0 +1,4 @@
+package com.islandscholars.dto.auth;
+
+/** A token that opens the caller's event stream, passed as {@code access_token} in the stream URL. */
+public record StreamTokenResponse(String accessToken, long expiresIn) {}
@@ -0,0 +1,64 @@
+package com.islandscholars.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.islandscholars.model.EventRegistration;
+import com.islandscholars.model.RegistrationStatus;
+
+import java.time.LocalDateTime;
+
+// Student fields are filled for the organizer's list, event fields for a student's own list
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventRegistrationResponse {
+
+    private Long eventId;
+    private String eventTitle;
+    private LocalDateTime eventStartDate;
+    private Long studentId;
+    private String studentName;
+    private String studentEmail;
+    private RegistrationStatus status;
+    // 1-based place in the waitlist; null once registered
+    private Long waitlistPosition;
+    private LocalDateTime registeredAt;
+    private LocalDateTime promotedAt;
+
+    public static EventRegistrationResponse of(EventRegistration registration, Long eventId, Long waitlistPosition) {
+        EventRegistrationResponse response = new EventRegistrationResponse();
+        response.eventId = eventId;
+        response.status = registration.getStatus();
+        response.waitlistPosition = registration.getStatus() == RegistrationStatus.WAITLISTED ? waitlistPosition : null;
+        response.registeredAt = registration.getRegisteredAt();
+        response.promotedAt = registration.getPromotedAt();
+        return response;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+
+    public String getEventTitle() { return eventTitle; }
+    public void setEventTitle(String eventTitle) { this.eventTitle = eventTitle; }
+
+    public LocalDateTime getEventStartDate() { return eventStartDate; }
+    public void setEventStartDate(LocalDateTime eventStartDate) { this.eventStartDate = eventStartDate; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public String getStudentEmail() { return studentEmail; }
+    public void setStudentEmail(String studentEmail) { this.studentEmail = studentEmail; }
+
+    public RegistrationStatus getStatus() { return status; }
+    public void setStatus(RegistrationStatus status) { this.status = status; }
+
+    public Long getWaitlistPosition() { return waitlistPosition; }
+    public void setWaitlistPosition(Long waitlistPosition) { this.waitlistPosition = waitlistPosition; }
+
+    public LocalDateTime getRegisteredAt() { return registeredAt; }
+    public void setRegisteredAt(LocalDateTime registeredAt) { this.registeredAt = registeredAt; }
+
+    public LocalDateTime getPromotedAt() { return promotedAt; }
+    public void setPromotedAt(LocalDateTime promotedAt) { this.promotedAt = promotedAt; }
+}
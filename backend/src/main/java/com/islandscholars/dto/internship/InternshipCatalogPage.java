@@ -0,0 +1,17 @@
+package com.islandscholars.dto.internship;
+
+import com.islandscholars.dto.CursorPage;
+import com.islandscholars.model.Internship;
+
+/** A catalog page together with the facet counts of the whole filtered result. */
+public class InternshipCatalogPage extends CursorPage<Internship> {
+    private InternshipFacets facets;
+
+    public InternshipCatalogPage(CursorPage<Internship> page, InternshipFacets facets) {
+        super(page.getItems(), page.getNextCursor());
+        this.facets = facets;
+    }
+
+    public InternshipFacets getFacets() { return facets; }
+    public void setFacets(InternshipFacets facets) { this.facets = facets; }
+}
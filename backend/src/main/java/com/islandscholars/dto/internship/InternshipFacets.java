@@ -0,0 +1,76 @@
+package com.islandscholars.dto.internship;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Industry;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter sidebar counts for the internship catalog. Each facet is counted with every
+ * other filter applied but not its own, so it shows what picking another value of that
+ * facet would return; {@code total} matches the filtered list itself.
+ */
+public class InternshipFacets {
+    private int total;
+    // Every duration and industry is present, zero when nothing matches
+    private Map<Duration, Integer> duration = new EnumMap<>(Duration.class);
+    private int remote;
+    private int onSite;
+    private List<LocationCount> location = new ArrayList<>();
+    private List<StipendRange> stipend = new ArrayList<>();
+    private Map<Industry, Integer> industry = new EnumMap<>(Industry.class);
+
+    public static class LocationCount {
+        private String location;
+        private int count;
+
+        public LocationCount(String location, int count) {
+            this.location = location;
+            this.count = count;
+        }
+
+        public String getLocation() { return location; }
+        public int getCount() { return count; }
+    }
+
+    // from inclusive, to exclusive; from 0 to 1 is unpaid and the last range has no upper bound
+    public static class StipendRange {
+        private long from;
+        private Long to;
+        private int count;
+
+        public StipendRange(long from, Long to, int count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public long getFrom() { return from; }
+        public Long getTo() { return to; }
+        public int getCount() { return count; }
+    }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public Map<Duration, Integer> getDuration() { return duration; }
+    public void setDuration(Map<Duration, Integer> duration) { this.duration = duration; }
+
+    public int getRemote() { return remote; }
+    public void setRemote(int remote) { this.remote = remote; }
+
+    public int getOnSite() { return onSite; }
+    public void setOnSite(int onSite) { this.onSite = onSite; }
+
+    public List<LocationCount> getLocation() { return location; }
+    public void setLocation(List<LocationCount> location) { this.location = location; }
+
+    public List<StipendRange> getStipend() { return stipend; }
+    public void setStipend(List<StipendRange> stipend) { this.stipend = stipend; }
+
+    public Map<Industry, Integer> getIndustry() { return industry; }
+    public void setIndustry(Map<Industry, Integer> industry) { this.industry = industry; }
+}
@@ -0,0 +1,27 @@
+package com.islandscholars.dto.recommendation;
+
+import com.islandscholars.model.Internship;
+
+import java.util.List;
+
+public class InternshipRecommendation {
+    private Internship internship;
+    // Weighted share of the internship's wanted skills the student has, 0..1
+    private double score;
+    private List<String> matchedSkills;
+
+    public InternshipRecommendation(Internship internship, double score, List<String> matchedSkills) {
+        this.internship = internship;
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+    }
+
+    public Internship getInternship() { return internship; }
+    public void setInternship(Internship internship) { this.internship = internship; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public List<String> getMatchedSkills() { return matchedSkills; }
+    public void setMatchedSkills(List<String> matchedSkills) { this.matchedSkills = matchedSkills; }
+}
@@ -0,0 +1,68 @@
+package com.islandscholars.dto.recommendation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.islandscholars.model.StudentProfile;
+import com.islandscholars.model.User;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentRecommendation {
+    private Long studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String university;
+    private String fieldOfStudy;
+    private Integer yearOfStudy;
+    private List<String> skills;
+    // Weighted share of the internship's wanted skills the student has, 0..1
+    private double score;
+    private List<String> matchedSkills;
+
+    public static StudentRecommendation of(StudentProfile profile, double score, List<String> matchedSkills) {
+        User user = profile.getUser();
+        StudentRecommendation recommendation = new StudentRecommendation();
+        recommendation.studentId = user.getId();
+        recommendation.firstName = user.getFirstName();
+        recommendation.lastName = user.getLastName();
+        recommendation.email = user.getEmail();
+        recommendation.university = profile.getUniversity() == null ? null : profile.getUniversity().getName();
+        recommendation.fieldOfStudy = profile.getFieldOfStudy();
+        recommendation.yearOfStudy = profile.getYearOfStudy();
+        recommendation.skills = profile.getSkills() == null ? null : List.copyOf(profile.getSkills());
+        recommendation.score = score;
+        recommendation.matchedSkills = matchedSkills;
+        return recommendation;
+    }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getUniversity() { return university; }
+    public void setUniversity(String university) { this.university = university; }
+
+    public String getFieldOfStudy() { return fieldOfStudy; }
+    public void setFieldOfStudy(String fieldOfStudy) { this.fieldOfStudy = fieldOfStudy; }
+
+    public Integer getYearOfStudy() { return yearOfStudy; }
+    public void setYearOfStudy(Integer yearOfStudy) { this.yearOfStudy = yearOfStudy; }
+
+    public List<String> getSkills() { return skills; }
+    public void setSkills(List<String> skills) { this.skills = skills; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public List<String> getMatchedSkills() { return matchedSkills; }
+    public void setMatchedSkills(List<String> matchedSkills) { this.matchedSkills = matchedSkills; }
+}
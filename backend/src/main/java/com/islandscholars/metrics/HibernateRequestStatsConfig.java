@@ -0,0 +1,48 @@
+package com.islandscholars.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks Hibernate so every SQL statement, entity load and lazy collection fetch is
+ * counted against the request being served (see {@link RequestPersistenceStats}).
+ */
+@Configuration
+public class HibernateRequestStatsConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateRequestStatsConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Bean
+    public static HibernatePropertiesCustomizer statementCountingCustomizer() {
+        StatementInspector inspector = sql -> {
+            RequestPersistenceStats.statementExecuted();
+            return sql;
+        };
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", inspector);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_LOAD,
+                (PostLoadEventListener) event -> RequestPersistenceStats.entityLoaded());
+        registry.appendListeners(EventType.INIT_COLLECTION,
+                (InitializeCollectionEventListener) event -> RequestPersistenceStats.collectionFetched());
+    }
+}
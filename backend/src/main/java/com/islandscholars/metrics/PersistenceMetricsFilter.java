@@ -0,0 +1,65 @@
+package com.islandscholars.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publishes per-request Hibernate work as distribution summaries tagged like
+ * http.server.requests (method and URI template), so N+1 regressions show up per endpoint.
+ */
+@Component
+public class PersistenceMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public PersistenceMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPersistenceStats stats = RequestPersistenceStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestPersistenceStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestPersistenceStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Static resources, 404s and actuator scrapes are not worth a time series
+            return;
+        }
+        String uri = pattern.toString();
+        String method = request.getMethod();
+
+        summary("hibernate.request.statements", "JDBC statements executed per request", method, uri)
+                .record(stats.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", method, uri)
+                .record(stats.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Lazy collections initialized per request", method, uri)
+                .record(stats.getCollectionFetches());
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.islandscholars.metrics;
+
+/**
+ * Per-thread counters of the Hibernate work done while serving the current request.
+ * Servlet requests run on one thread from filter to response, so a thread-local
+ * attributes statements, entity loads and collection fetches to the request that caused them.
+ */
+public final class RequestPersistenceStats {
+
+    private static final ThreadLocal<RequestPersistenceStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+
+    private RequestPersistenceStats() {}
+
+    static RequestPersistenceStats begin() {
+        RequestPersistenceStats stats = new RequestPersistenceStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted() {
+        RequestPersistenceStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestPersistenceStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestPersistenceStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collectionFetches++;
+        }
+    }
+
+    public int getStatements() { return statements; }
+    public int getEntityLoads() { return entityLoads; }
+    public int getCollectionFetches() { return collectionFetches; }
+}
@@ -12,10 +12,13 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "applications", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "internship_id"})
+}, indexes = {
+    @Index(name = "idx_applications_internship_status", columnList = "internship_id, status")
 })
 public class Application {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applications_seq")
+    @SequenceGenerator(name = "applications_seq", sequenceName = "applications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
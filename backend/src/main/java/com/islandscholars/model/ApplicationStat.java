@@ -0,0 +1,75 @@
+package com.islandscholars.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Number of applications in one status for one internship, kept up to date in the same
+ * transaction as every application change so dashboards can read their counts without
+ * loading the applications. The organization is denormalized for the per-organization
+ * lookup; ids are plain columns because rows are only ever addressed by key.
+ */
+@Entity
+@Table(name = "application_stats", indexes = {
+    @Index(name = "idx_application_stats_organization", columnList = "organization_id")
+})
+@IdClass(ApplicationStat.Key.class)
+public class ApplicationStat {
+    @Id
+    @Column(name = "internship_id")
+    private Long internshipId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ApplicationStatus status;
+
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+
+    @Column(nullable = false)
+    private long applicationCount;
+
+    // Constructors
+    public ApplicationStat() {}
+
+    // Getters and Setters
+    public Long getInternshipId() { return internshipId; }
+    public void setInternshipId(Long internshipId) { this.internshipId = internshipId; }
+
+    public ApplicationStatus getStatus() { return status; }
+    public void setStatus(ApplicationStatus status) { this.status = status; }
+
+    public Long getOrganizationId() { return organizationId; }
+    public void setOrganizationId(Long organizationId) { this.organizationId = organizationId; }
+
+    public long getApplicationCount() { return applicationCount; }
+    public void setApplicationCount(long applicationCount) { this.applicationCount = applicationCount; }
+
+    public static class Key implements Serializable {
+        private Long internshipId;
+        private ApplicationStatus status;
+
+        public Key() {}
+
+        public Key(Long internshipId, ApplicationStatus status) {
+            this.internshipId = internshipId;
+            this.status = status;
+        }
+
+        public Long getInternshipId() { return internshipId; }
+        public ApplicationStatus getStatus() { return status; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(internshipId, key.internshipId) && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(internshipId, status);
+        }
+    }
+}
@@ -1,9 +1,26 @@
 package com.islandscholars.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ApplicationStatus {
     PENDING,
     UNDER_REVIEW,
     ACCEPTED,
     REJECTED,
-    WITHDRAWN
-}
\ No newline at end of file
+    WITHDRAWN;
+
+    /**
+     * Statuses an organization may move an application out of to reach this one
+     * during a review, one at a time or in bulk. Decisions and withdrawals are final,
+     * and only the student withdraws: anything else would leave the internship's
+     * applicant slot taken.
+     */
+    public Set<ApplicationStatus> reviewSources() {
+        return switch (this) {
+            case UNDER_REVIEW -> EnumSet.of(PENDING);
+            case ACCEPTED, REJECTED -> EnumSet.of(PENDING, UNDER_REVIEW);
+            case PENDING, WITHDRAWN -> EnumSet.noneOf(ApplicationStatus.class);
+        };
+    }
+}
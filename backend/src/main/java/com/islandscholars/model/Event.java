@@ -1,9 +1,11 @@
 package com.islandscholars.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,10 +13,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(GeocodingListener.class)
 @Table(name = "events")
-public class Event {
+public class Event implements Geolocated {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -42,10 +46,23 @@ public class Event {
     @Size(max = 200)
     private String location;
 
+    // Geocoded from location on every write; null when the gazetteer does not know the place
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double latitude;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double longitude;
+
     private boolean isVirtual = false;
 
     private Integer maxParticipants;
 
+    // Registrations holding a seat. Only ever changed by EventRegistrationService's
+    // batches, under the event's row lock, so entity saves never write back a stale count.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int registeredCount;
+
     @NotNull
     private LocalDateTime registrationDeadline;
 
@@ -58,8 +75,10 @@ public class Event {
     private List<String> prizes;
 
     @ElementCollection
-    @CollectionTable(name = "event_tags", joinColumns = @JoinColumn(name = "event_id"))
-    @Column(name = "tag")
+    @CollectionTable(name = "event_tag_ids", joinColumns = @JoinColumn(name = "event_id"),
+            indexes = @Index(name = "idx_event_tag_tag", columnList = "tag_id"))
+    @Column(name = "tag_id")
+    @Convert(converter = TagIdConverter.class)
     private List<String> tags;
 
     @Enumerated(EnumType.STRING)
@@ -99,12 +118,20 @@ public class Event {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public boolean isVirtual() { return isVirtual; }
     public void setVirtual(boolean virtual) { isVirtual = virtual; }
 
     public Integer getMaxParticipants() { return maxParticipants; }
     public void setMaxParticipants(Integer maxParticipants) { this.maxParticipants = maxParticipants; }
 
+    public int getRegisteredCount() { return registeredCount; }
+
     public LocalDateTime getRegistrationDeadline() { return registrationDeadline; }
     public void setRegistrationDeadline(LocalDateTime registrationDeadline) { this.registrationDeadline = registrationDeadline; }
 
@@ -115,7 +142,7 @@ public class Event {
     public void setPrizes(List<String> prizes) { this.prizes = prizes; }
 
     public List<String> getTags() { return tags; }
-    public void setTags(List<String> tags) { this.tags = tags; }
+    public void setTags(List<String> tags) { this.tags = TagIdConverter.distinct(tags); }
 
     public EventStatus getStatus() { return status; }
     public void setStatus(EventStatus status) { this.status = status; }
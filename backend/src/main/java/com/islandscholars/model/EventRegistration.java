@@ -0,0 +1,66 @@
+package com.islandscholars.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_registrations", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"event_id", "student_id"})
+}, indexes = {
+    @Index(name = "idx_event_registrations_queue", columnList = "event_id, status, registered_at, id"),
+    @Index(name = "idx_event_registrations_student", columnList = "student_id")
+})
+public class EventRegistration {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_registrations_seq")
+    @SequenceGenerator(name = "event_registrations_seq", sequenceName = "event_registrations_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    private User student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RegistrationStatus status;
+
+    // Waitlisted registrations are promoted in (registeredAt, id) order
+    @Column(nullable = false)
+    private LocalDateTime registeredAt;
+
+    private LocalDateTime promotedAt;
+
+    // Constructors
+    public EventRegistration() {}
+
+    public EventRegistration(Event event, User student, RegistrationStatus status, LocalDateTime registeredAt) {
+        this.event = event;
+        this.student = student;
+        this.status = status;
+        this.registeredAt = registeredAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+
+    public User getStudent() { return student; }
+    public void setStudent(User student) { this.student = student; }
+
+    public RegistrationStatus getStatus() { return status; }
+    public void setStatus(RegistrationStatus status) { this.status = status; }
+
+    public LocalDateTime getRegisteredAt() { return registeredAt; }
+    public void setRegisteredAt(LocalDateTime registeredAt) { this.registeredAt = registeredAt; }
+
+    public LocalDateTime getPromotedAt() { return promotedAt; }
+    public void setPromotedAt(LocalDateTime promotedAt) { this.promotedAt = promotedAt; }
+}
@@ -0,0 +1,32 @@
+package com.islandscholars.model;
+
+import com.islandscholars.search.Gazetteer;
+import com.islandscholars.search.GeoPoint;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Fills in the coordinates of a {@link Geolocated} entity from its location whenever it
+ * is inserted or updated, so every write path (single saves, imports) stores them. A
+ * location the {@link Gazetteer} does not know clears them. Created by Hibernate
+ * through Spring, so the gazetteer is injected.
+ */
+public class GeocodingListener {
+
+    private final Gazetteer gazetteer;
+
+    public GeocodingListener(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void geocode(Object entity) {
+        if (!(entity instanceof Geolocated geolocated)) {
+            return;
+        }
+        GeoPoint point = gazetteer.geocode(geolocated.getLocation()).orElse(null);
+        geolocated.setLatitude(point == null ? null : point.latitude());
+        geolocated.setLongitude(point == null ? null : point.longitude());
+    }
+}
@@ -0,0 +1,13 @@
+package com.islandscholars.model;
+
+/**
+ * An entity with a free-text location that {@link GeocodingListener} turns into coordinates.
+ */
+public interface Geolocated {
+
+    String getLocation();
+
+    void setLatitude(Double latitude);
+
+    void setLongitude(Double longitude);
+}
@@ -1,9 +1,11 @@
 package com.islandscholars.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,10 +15,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "internships")
-public class Internship {
+@EntityListeners(GeocodingListener.class)
+@Table(name = "internships", indexes = {
+    @Index(name = "idx_internships_active_deadline_id", columnList = "is_active, application_deadline, id"),
+    @Index(name = "idx_internships_active_created_id", columnList = "is_active, created_at, id")
+})
+public class Internship implements Geolocated {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "internships_seq")
+    @SequenceGenerator(name = "internships_seq", sequenceName = "internships_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -42,13 +49,22 @@ public class Internship {
     @Size(max = 200)
     private String location;
 
+    // Geocoded from location on every write; null when the gazetteer does not know the place
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double latitude;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double longitude;
+
     private boolean isRemote = false;
 
     private BigDecimal stipendAmount;
 
     @ElementCollection
-    @CollectionTable(name = "internship_skills", joinColumns = @JoinColumn(name = "internship_id"))
-    @Column(name = "skill")
+    @CollectionTable(name = "internship_skill_ids", joinColumns = @JoinColumn(name = "internship_id"),
+            indexes = @Index(name = "idx_internship_skill_tag", columnList = "tag_id"))
+    @Column(name = "tag_id")
+    @Convert(converter = TagIdConverter.class)
     private List<String> skillsRequired;
 
     @NotNull
@@ -60,6 +76,12 @@ public class Internship {
     private Integer maxApplicants = 50;
     private boolean isActive = true;
 
+    // Non-withdrawn applications. Only ever changed by the conditional updates in
+    // InternshipRepository, so entity saves never write back a stale count.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int applicantCount;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -91,6 +113,12 @@ public class Internship {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public boolean isRemote() { return isRemote; }
     public void setRemote(boolean remote) { isRemote = remote; }
 
@@ -98,7 +126,7 @@ public class Internship {
     public void setStipendAmount(BigDecimal stipendAmount) { this.stipendAmount = stipendAmount; }
 
     public List<String> getSkillsRequired() { return skillsRequired; }
-    public void setSkillsRequired(List<String> skillsRequired) { this.skillsRequired = skillsRequired; }
+    public void setSkillsRequired(List<String> skillsRequired) { this.skillsRequired = TagIdConverter.distinct(skillsRequired); }
 
     public LocalDate getApplicationDeadline() { return applicationDeadline; }
     public void setApplicationDeadline(LocalDate applicationDeadline) { this.applicationDeadline = applicationDeadline; }
@@ -112,6 +140,8 @@ public class Internship {
     public Integer getMaxApplicants() { return maxApplicants; }
     public void setMaxApplicants(Integer maxApplicants) { this.maxApplicants = maxApplicants; }
 
+    public int getApplicantCount() { return applicantCount; }
+
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { isActive = active; }
 
@@ -10,7 +10,8 @@ import java.util.List;
 @Table(name = "organization_profiles")
 public class OrganizationProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organization_profiles_seq")
+    @SequenceGenerator(name = "organization_profiles_seq", sequenceName = "organization_profiles_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -34,8 +35,10 @@ public class OrganizationProfile {
     private String registrationNumber;
 
     @ElementCollection
-    @CollectionTable(name = "organization_desired_skills", joinColumns = @JoinColumn(name = "organization_profile_id"))
-    @Column(name = "skill")
+    @CollectionTable(name = "organization_desired_skill_ids", joinColumns = @JoinColumn(name = "organization_profile_id"),
+            indexes = @Index(name = "idx_organization_desired_skill_tag", columnList = "tag_id"))
+    @Column(name = "tag_id")
+    @Convert(converter = TagIdConverter.class)
     private List<String> desiredSkills;
 
     // Constructors
@@ -70,5 +73,5 @@ public class OrganizationProfile {
     public void setRegistrationNumber(String registrationNumber) { this.registrationNumber = registrationNumber; }
 
     public List<String> getDesiredSkills() { return desiredSkills; }
-    public void setDesiredSkills(List<String> desiredSkills) { this.desiredSkills = desiredSkills; }
+    public void setDesiredSkills(List<String> desiredSkills) { this.desiredSkills = TagIdConverter.distinct(desiredSkills); }
 }
\ No newline at end of file
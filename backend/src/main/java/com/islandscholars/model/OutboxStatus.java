@@ -0,0 +1,7 @@
+package com.islandscholars.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.islandscholars.model;
+
+public enum RegistrationStatus {
+    REGISTERED,
+    WAITLISTED
+}
@@ -13,7 +13,8 @@ import java.util.List;
 @Table(name = "student_profiles")
 public class StudentProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_profiles_seq")
+    @SequenceGenerator(name = "student_profiles_seq", sequenceName = "student_profiles_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -35,8 +36,10 @@ public class StudentProfile {
     private BigDecimal gpa;
 
     @ElementCollection
-    @CollectionTable(name = "student_skills", joinColumns = @JoinColumn(name = "student_profile_id"))
-    @Column(name = "skill")
+    @CollectionTable(name = "student_skill_ids", joinColumns = @JoinColumn(name = "student_profile_id"),
+            indexes = @Index(name = "idx_student_skill_tag", columnList = "tag_id"))
+    @Column(name = "tag_id")
+    @Convert(converter = TagIdConverter.class)
     private List<String> skills;
 
     private String cvUrl;
@@ -71,7 +74,7 @@ public class StudentProfile {
     public void setGpa(BigDecimal gpa) { this.gpa = gpa; }
 
     public List<String> getSkills() { return skills; }
-    public void setSkills(List<String> skills) { this.skills = skills; }
+    public void setSkills(List<String> skills) { this.skills = TagIdConverter.distinct(skills); }
 
     public String getCvUrl() { return cvUrl; }
     public void setCvUrl(String cvUrl) { this.cvUrl = cvUrl; }
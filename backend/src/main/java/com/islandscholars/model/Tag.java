@@ -0,0 +1,38 @@
+package com.islandscholars.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One entry of the shared skill and tag dictionary. Skills, desired skills, event tags
+ * and university programs store the id instead of repeating the text; {@code name} is
+ * the spelling shown to users and {@code normalizedName} the key two spellings are
+ * merged on (see {@link com.islandscholars.service.TagDictionary#normalize}).
+ * Rows are only ever inserted, by {@code TagDictionary}.
+ */
+@Entity
+@Table(name = "tags")
+public class Tag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_seq")
+    @SequenceGenerator(name = "tags_seq", sequenceName = "tags_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, unique = true)
+    private String normalizedName;
+
+    // Constructors
+    public Tag() {}
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getNormalizedName() { return normalizedName; }
+    public void setNormalizedName(String normalizedName) { this.normalizedName = normalizedName; }
+}
@@ -0,0 +1,28 @@
+package com.islandscholars.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Another spelling of a {@link Tag}, e.g. "js" for JavaScript. The alias is stored
+ * normalized; resolving it yields the tag's id, so both spellings share one row.
+ */
+@Entity
+@Table(name = "tag_aliases")
+public class TagAlias {
+    @Id
+    @Column(name = "alias")
+    private String alias;
+
+    @Column(name = "tag_id", nullable = false)
+    private Integer tagId;
+
+    // Constructors
+    public TagAlias() {}
+
+    // Getters and Setters
+    public String getAlias() { return alias; }
+    public void setAlias(String alias) { this.alias = alias; }
+
+    public Integer getTagId() { return tagId; }
+    public void setTagId(Integer tagId) { this.tagId = tagId; }
+}
@@ -0,0 +1,55 @@
+package com.islandscholars.model;
+
+import com.islandscholars.service.TagDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores a skill, tag or program name as its {@link Tag} id. Entities and payloads keep
+ * working with names; the collection tables hold integers. Created by Hibernate through
+ * Spring, so the dictionary is injected.
+ */
+@Converter
+public class TagIdConverter implements AttributeConverter<String, Integer> {
+
+    private final TagDictionary tagDictionary;
+
+    public TagIdConverter(TagDictionary tagDictionary) {
+        this.tagDictionary = tagDictionary;
+    }
+
+    /**
+     * Drops blank names and repeated spellings of one name, keeping the first. The
+     * collection setters apply it, because a blank name has no tag id and would be
+     * written as a null element.
+     */
+    public static List<String> distinct(List<String> names) {
+        if (names == null) {
+            return null;
+        }
+        Set<String> seen = new HashSet<>();
+        List<String> distinct = new ArrayList<>(names.size());
+        for (String name : names) {
+            String key = TagDictionary.normalize(name);
+            if (!key.isEmpty() && seen.add(key)) {
+                distinct.add(name);
+            }
+        }
+        return distinct;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        return tagDictionary.idFor(name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return tagDictionary.nameOf(id);
+    }
+}
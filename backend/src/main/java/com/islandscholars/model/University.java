@@ -13,7 +13,8 @@ import java.util.List;
 @Table(name = "universities")
 public class University {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "universities_seq")
+    @SequenceGenerator(name = "universities_seq", sequenceName = "universities_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -33,8 +34,10 @@ public class University {
     private Integer facultyCount;
 
     @ElementCollection
-    @CollectionTable(name = "university_programs", joinColumns = @JoinColumn(name = "university_id"))
-    @Column(name = "program")
+    @CollectionTable(name = "university_program_ids", joinColumns = @JoinColumn(name = "university_id"),
+            indexes = @Index(name = "idx_university_program_tag", columnList = "tag_id"))
+    @Column(name = "tag_id")
+    @Convert(converter = TagIdConverter.class)
     private List<String> programs;
 
     @CreationTimestamp
@@ -77,7 +80,7 @@ public class University {
     public void setFacultyCount(Integer facultyCount) { this.facultyCount = facultyCount; }
 
     public List<String> getPrograms() { return programs; }
-    public void setPrograms(List<String> programs) { this.programs = programs; }
+    public void setPrograms(List<String> programs) { this.programs = TagIdConverter.distinct(programs); }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -0,0 +1,16 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.Application;
+
+public interface ApplicationAdmissionRepository {
+
+    /**
+     * Inserts the application unless the student already has one for the internship,
+     * in a single INSERT ... ON CONFLICT DO NOTHING. On success the id, status and
+     * timestamps are set on {@code application}; it is not attached to the persistence
+     * context.
+     *
+     * @return false if an application for the same student and internship already exists
+     */
+    boolean insertIfAbsent(Application application);
+}
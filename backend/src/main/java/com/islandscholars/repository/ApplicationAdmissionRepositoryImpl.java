@@ -0,0 +1,71 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.Application;
+import com.islandscholars.model.ApplicationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public class ApplicationAdmissionRepositoryImpl implements ApplicationAdmissionRepository {
+
+    // No conflict target: the id is freshly drawn, so the (student_id, internship_id)
+    // constraint is the only one that can conflict, and H2's PostgreSQL mode accepts it
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO applications (id, student_id, internship_id, cover_letter, resume_url, portfolio_url, " +
+            "availability, preferred_start_date, status, applied_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(Application application) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+
+        // Drawn from the same pooled generator as persist(), so ids never overlap
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel().getEntityDescriptor(Application.class).getGenerator();
+        Long id = (Long) generator.generate(session, application, null, EventType.INSERT);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        int inserted = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT)) {
+                statement.setLong(1, id);
+                statement.setLong(2, application.getStudent().getId());
+                statement.setLong(3, application.getInternship().getId());
+                statement.setString(4, application.getCoverLetter());
+                statement.setString(5, application.getResumeUrl());
+                statement.setString(6, application.getPortfolioUrl());
+                statement.setString(7, application.getAvailability());
+                if (application.getPreferredStartDate() != null) {
+                    statement.setDate(8, Date.valueOf(application.getPreferredStartDate()));
+                } else {
+                    statement.setNull(8, Types.DATE);
+                }
+                statement.setString(9, ApplicationStatus.PENDING.name());
+                statement.setTimestamp(10, Timestamp.valueOf(now));
+                statement.setTimestamp(11, Timestamp.valueOf(now));
+                return statement.executeUpdate();
+            }
+        });
+        if (inserted == 0) {
+            return false;
+        }
+
+        application.setId(id);
+        application.setStatus(ApplicationStatus.PENDING);
+        application.setAppliedAt(now);
+        application.setUpdatedAt(now);
+        return true;
+    }
+}
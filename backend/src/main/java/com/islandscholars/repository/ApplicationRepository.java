@@ -4,19 +4,112 @@ import com.islandscholars.model.Application;
 import com.islandscholars.model.ApplicationStatus;
 import com.islandscholars.model.Internship;
 import com.islandscholars.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Long> {
+public interface ApplicationRepository extends JpaRepository<Application, Long>, ApplicationAdmissionRepository {
+    // Listings serialize the student, the internship with its organization and skills;
+    // fetching them in the same statement keeps each listing at one query
+    @EntityGraph(attributePaths = {"student", "internship", "internship.organization", "internship.skillsRequired"})
     List<Application> findByStudent(User student);
+
     List<Application> findByInternship(Internship internship);
+
+    @EntityGraph(attributePaths = {"student", "internship", "internship.organization", "internship.skillsRequired"})
     List<Application> findByInternshipOrganization(User organization);
+
     List<Application> findByStatus(ApplicationStatus status);
+
+    @Query("SELECT a.internship.id FROM Application a WHERE a.student.id = :studentId")
+    List<Long> findInternshipIdsByStudentId(@Param("studentId") Long studentId);
     Optional<Application> findByStudentAndInternship(User student, Internship internship);
+
+    @EntityGraph(attributePaths = {"student", "internship", "internship.organization", "internship.skillsRequired"})
     List<Application> findByStudentAndStatus(User student, ApplicationStatus status);
+
+    @EntityGraph(attributePaths = {"student", "internship", "internship.organization", "internship.skillsRequired"})
     List<Application> findByInternshipOrganizationAndStatus(User organization, ApplicationStatus status);
-}
\ No newline at end of file
+
+    // Only what the bulk review needs to decide each item: no entity hydration,
+    // no walk through internship.organization
+    interface ReviewTarget {
+        Long getId();
+        ApplicationStatus getStatus();
+        Long getOrganizationId();
+        Long getStudentId();
+        Long getInternshipId();
+    }
+
+    @Query("SELECT a.id AS id, a.status AS status, i.organization.id AS organizationId, " +
+           "a.student.id AS studentId, i.id AS internshipId FROM Application a JOIN a.internship i WHERE a.id IN :ids")
+    List<ReviewTarget> findReviewTargets(@Param("ids") Collection<Long> ids);
+
+    // The ownership and source-status predicates are repeated here so that a row
+    // which changed after findReviewTargets is left untouched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Application a SET a.status = :status, " +
+           "a.reviewerNotes = COALESCE(CAST(:reviewerNotes AS String), a.reviewerNotes), " +
+           "a.reviewedAt = COALESCE(CAST(:reviewedAt AS LocalDateTime), a.reviewedAt), " +
+           "a.updatedAt = :updatedAt " +
+           "WHERE a.id IN :ids AND a.status IN :fromStatuses " +
+           "AND a.internship.id IN (SELECT i.id FROM Internship i WHERE i.organization.id = :organizationId)")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                         @Param("fromStatuses") Collection<ApplicationStatus> fromStatuses,
+                         @Param("status") ApplicationStatus status,
+                         @Param("reviewerNotes") String reviewerNotes,
+                         @Param("reviewedAt") LocalDateTime reviewedAt,
+                         @Param("updatedAt") LocalDateTime updatedAt,
+                         @Param("organizationId") Long organizationId);
+
+    @Query("SELECT a.id FROM Application a WHERE a.id IN :ids AND a.status = :status AND a.updatedAt = :updatedAt")
+    List<Long> findIdsUpdatedAt(@Param("ids") Collection<Long> ids,
+                                @Param("status") ApplicationStatus status,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Conditional so that of two concurrent withdrawals only one succeeds and gives back the place
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Application a SET a.status = com.islandscholars.model.ApplicationStatus.WITHDRAWN, " +
+           "a.updatedAt = :updatedAt WHERE a.id = :id AND a.status IN :fromStatuses")
+    int withdraw(@Param("id") Long id,
+                 @Param("fromStatuses") Collection<ApplicationStatus> fromStatuses,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Conditional on the status the caller read, so the statistics it records stay exact.
+    // Null reviewer notes keep the existing ones, as in bulkUpdateStatus
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Application a SET a.status = :status, " +
+           "a.reviewerNotes = COALESCE(CAST(:reviewerNotes AS String), a.reviewerNotes), " +
+           "a.reviewedAt = COALESCE(CAST(:reviewedAt AS LocalDateTime), a.reviewedAt), " +
+           "a.updatedAt = :updatedAt WHERE a.id = :id AND a.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expectedStatus") ApplicationStatus expectedStatus,
+                     @Param("status") ApplicationStatus status,
+                     @Param("reviewerNotes") String reviewerNotes,
+                     @Param("reviewedAt") LocalDateTime reviewedAt,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Deletes the application only while it is still in the status the caller read
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Application a WHERE a.id = :id AND a.status = :status")
+    int deleteInStatus(@Param("id") Long id, @Param("status") ApplicationStatus status);
+
+    interface InternshipStatusCount {
+        Long getInternshipId();
+        ApplicationStatus getStatus();
+        long getApplicationCount();
+    }
+
+    @Query("SELECT a.internship.id AS internshipId, a.status AS status, COUNT(a) AS applicationCount " +
+           "FROM Application a WHERE a.internship.id IN :internshipIds GROUP BY a.internship.id, a.status")
+    List<InternshipStatusCount> countByInternshipAndStatus(@Param("internshipIds") Collection<Long> internshipIds);
+}
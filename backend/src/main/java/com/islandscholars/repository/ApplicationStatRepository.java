@@ -0,0 +1,67 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.ApplicationStat;
+import com.islandscholars.model.ApplicationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ApplicationStatRepository extends JpaRepository<ApplicationStat, ApplicationStat.Key> {
+
+    interface InternshipStatusCount {
+        Long getInternshipId();
+        String getInternshipTitle();
+        ApplicationStatus getStatus();
+        long getApplicationCount();
+    }
+
+    // One indexed lookup per dashboard; rows of deleted internships drop out through the join
+    @Query("SELECT s.internshipId AS internshipId, i.title AS internshipTitle, s.status AS status, " +
+           "s.applicationCount AS applicationCount " +
+           "FROM ApplicationStat s JOIN Internship i ON i.id = s.internshipId " +
+           "WHERE s.organizationId = :organizationId AND s.applicationCount > 0 " +
+           "ORDER BY s.internshipId")
+    List<InternshipStatusCount> findByOrganization(@Param("organizationId") Long organizationId);
+
+    @Modifying
+    @Query("UPDATE ApplicationStat s SET s.applicationCount = s.applicationCount + :delta " +
+           "WHERE s.internshipId = :internshipId AND s.status = :status")
+    int increment(@Param("internshipId") Long internshipId,
+                  @Param("status") ApplicationStatus status,
+                  @Param("delta") long delta);
+
+    // No conflict target, as in ApplicationAdmissionRepositoryImpl: the key is the only constraint
+    @Modifying
+    @Query(value = "INSERT INTO application_stats (internship_id, status, organization_id, application_count) " +
+                   "VALUES (:internshipId, :status, :organizationId, :applicationCount) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("internshipId") Long internshipId,
+                       @Param("status") String status,
+                       @Param("organizationId") Long organizationId,
+                       @Param("applicationCount") long applicationCount);
+
+    // Locked in key order, the same order writers use, so verification cannot deadlock with them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ApplicationStat s WHERE s.internshipId IN :internshipIds ORDER BY s.internshipId, s.status")
+    List<ApplicationStat> lockByInternships(@Param("internshipIds") Collection<Long> internshipIds);
+
+    @Modifying
+    @Query("UPDATE ApplicationStat s SET s.applicationCount = :applicationCount " +
+           "WHERE s.internshipId = :internshipId AND s.status = :status")
+    int setCount(@Param("internshipId") Long internshipId,
+                 @Param("status") ApplicationStatus status,
+                 @Param("applicationCount") long applicationCount);
+
+    @Modifying
+    @Query("DELETE FROM ApplicationStat s WHERE NOT EXISTS " +
+           "(SELECT i.id FROM Internship i WHERE i.id = s.internshipId)")
+    int deleteOrphans();
+}
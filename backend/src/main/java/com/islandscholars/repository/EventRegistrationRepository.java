@@ -0,0 +1,55 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.EventRegistration;
+import com.islandscholars.model.RegistrationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
+
+    @Query("SELECT r FROM EventRegistration r WHERE r.event.id = :eventId AND r.student.id = :studentId")
+    Optional<EventRegistration> findByEventAndStudent(@Param("eventId") Long eventId,
+                                                      @Param("studentId") Long studentId);
+
+    @Query("SELECT r FROM EventRegistration r WHERE r.event.id = :eventId AND r.student.id IN :studentIds")
+    List<EventRegistration> findByEventAndStudents(@Param("eventId") Long eventId,
+                                                   @Param("studentIds") Collection<Long> studentIds);
+
+    // Waitlist head first; served by idx_event_registrations_queue
+    @Query("SELECT r FROM EventRegistration r WHERE r.event.id = :eventId " +
+           "AND r.status = com.islandscholars.model.RegistrationStatus.WAITLISTED " +
+           "ORDER BY r.registeredAt ASC, r.id ASC")
+    List<EventRegistration> findWaitlist(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = :eventId AND r.status = :status")
+    long countByEventAndStatus(@Param("eventId") Long eventId, @Param("status") RegistrationStatus status);
+
+    @Query("SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = :eventId " +
+           "AND r.status = com.islandscholars.model.RegistrationStatus.WAITLISTED " +
+           "AND (r.registeredAt < :registeredAt OR (r.registeredAt = :registeredAt AND r.id < :id))")
+    long countWaitlistedAhead(@Param("eventId") Long eventId,
+                              @Param("registeredAt") LocalDateTime registeredAt,
+                              @Param("id") Long id);
+
+    @Query("SELECT r FROM EventRegistration r JOIN FETCH r.student WHERE r.event.id = :eventId " +
+           "ORDER BY r.status ASC, r.registeredAt ASC, r.id ASC")
+    List<EventRegistration> findByEventWithStudents(@Param("eventId") Long eventId);
+
+    @Query("SELECT r FROM EventRegistration r JOIN FETCH r.event WHERE r.student.id = :studentId " +
+           "ORDER BY r.registeredAt DESC")
+    List<EventRegistration> findByStudentWithEvents(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM EventRegistration r WHERE r.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
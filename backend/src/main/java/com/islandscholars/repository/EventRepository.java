@@ -1,14 +1,22 @@
 package com.islandscholars.repository;
 
+import com.islandscholars.dto.ResourceVersion;
 import com.islandscholars.model.Event;
 import com.islandscholars.model.EventStatus;
 import com.islandscholars.model.EventType;
 import com.islandscholars.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -16,7 +24,34 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByStatus(EventStatus status);
     List<Event> findByEventType(EventType eventType);
     List<Event> findByStatusAndStartDateAfter(EventStatus status, LocalDateTime date);
+    List<Event> findByStatusAndStartDateAfterOrderByStartDateAscIdAsc(EventStatus status, LocalDateTime date,
+                                                                     Pageable pageable);
     List<Event> findByStatusAndRegistrationDeadlineAfter(EventStatus status, LocalDateTime date);
     List<Event> findByLocationContainingIgnoreCase(String location);
     List<Event> findByIsVirtual(boolean isVirtual);
+
+    // Held until commit, so concurrent registration batches for one event take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    // updatedAt moves with the count, as the count is part of what the event's validators stand for
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + :delta, e.updatedAt = :now WHERE e.id = :id")
+    int adjustRegisteredCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(e.updatedAt, 1L) FROM Event e WHERE e.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(MAX(e.updatedAt), COUNT(e)) FROM Event e " +
+           "WHERE e.status = :status AND e.startDate > :after")
+    ResourceVersion findVersionByStatusAndStartDateAfter(@Param("status") EventStatus status,
+                                                         @Param("after") LocalDateTime after);
+
+    // updatedAt of the events findByStatusAndStartDateAfterOrderByStartDateAscIdAsc returns, in its order
+    @Query("SELECT e.updatedAt FROM Event e WHERE e.status = :status AND e.startDate > :after " +
+           "ORDER BY e.startDate ASC, e.id ASC")
+    List<LocalDateTime> findUpdatedAtByStatusAndStartDateAfter(@Param("status") EventStatus status,
+                                                               @Param("after") LocalDateTime after,
+                                                               Pageable pageable);
 }
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.islandscholars.repository;
 
+import com.islandscholars.dto.ResourceVersion;
 import com.islandscholars.model.Duration;
 import com.islandscholars.model.Internship;
 import com.islandscholars.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InternshipRepository extends JpaRepository<Internship, Long> {
@@ -29,4 +34,80 @@ public interface InternshipRepository extends JpaRepository<Internship, Long> {
                                                @Param("location") String location,
                                                @Param("duration") Duration duration,
                                                @Param("isRemote") Boolean isRemote);
-}
\ No newline at end of file
+
+    String CATALOG_FILTERS =
+           "(:title IS NULL OR LOWER(i.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
+           "(:location IS NULL OR LOWER(i.location) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "(:duration IS NULL OR i.duration = :duration) AND " +
+           "(:isRemote IS NULL OR i.isRemote = :isRemote) ";
+
+    // Keyset page ordered by (applicationDeadline, id); served by idx_internships_active_deadline_id
+    @Query("SELECT i FROM Internship i WHERE i.isActive = true AND " +
+           "(i.applicationDeadline > :afterDeadline OR " +
+           "(i.applicationDeadline = :afterDeadline AND i.id > :afterId)) AND " +
+           CATALOG_FILTERS +
+           "ORDER BY i.applicationDeadline ASC, i.id ASC")
+    List<Internship> findCatalogPageByDeadline(@Param("afterDeadline") LocalDate afterDeadline,
+                                               @Param("afterId") Long afterId,
+                                               @Param("title") String title,
+                                               @Param("location") String location,
+                                               @Param("duration") Duration duration,
+                                               @Param("isRemote") Boolean isRemote,
+                                               Pageable pageable);
+
+    // Keyset page ordered by (createdAt, id) descending; served by idx_internships_active_created_id
+    @Query("SELECT i FROM Internship i WHERE i.isActive = true AND i.applicationDeadline > :today AND " +
+           "(i.createdAt < :beforeCreatedAt OR " +
+           "(i.createdAt = :beforeCreatedAt AND i.id < :beforeId)) AND " +
+           CATALOG_FILTERS +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Internship> findCatalogPageByNewest(@Param("today") LocalDate today,
+                                             @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                             @Param("beforeId") Long beforeId,
+                                             @Param("title") String title,
+                                             @Param("location") String location,
+                                             @Param("duration") Duration duration,
+                                             @Param("isRemote") Boolean isRemote,
+                                             Pageable pageable);
+
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(i.updatedAt, 1L) FROM Internship i WHERE i.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    // Every open internship the catalog filters can return, whichever path serves the page
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(MAX(i.updatedAt), COUNT(i)) FROM Internship i " +
+           "WHERE i.isActive = true AND i.applicationDeadline > :today AND " +
+           CATALOG_FILTERS)
+    ResourceVersion findCatalogVersion(@Param("today") LocalDate today,
+                                       @Param("title") String title,
+                                       @Param("location") String location,
+                                       @Param("duration") Duration duration,
+                                       @Param("isRemote") Boolean isRemote);
+
+    @Query("SELECT DISTINCT i FROM Internship i JOIN FETCH i.organization LEFT JOIN FETCH i.skillsRequired")
+    List<Internship> findAllWithSkills();
+
+    // Takes one place on the internship if it is open and not full. The row lock held
+    // until commit serializes concurrent submitters, and the WHERE clause is checked
+    // again against the latest count once the lock is granted. updatedAt moves with the
+    // count, as the count is part of what the internship's validators stand for.
+    @Modifying
+    @Query("UPDATE Internship i SET i.applicantCount = i.applicantCount + 1, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.isActive = true AND i.applicationDeadline >= :today " +
+           "AND (i.maxApplicants IS NULL OR i.applicantCount < i.maxApplicants)")
+    int reserveApplicantSlot(@Param("id") Long id, @Param("today") LocalDate today, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Internship i SET i.applicantCount = i.applicantCount - 1, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.applicantCount > 0")
+    int releaseApplicantSlot(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    interface InternshipOwner {
+        Long getId();
+        Long getOrganizationId();
+    }
+
+    // Keyset walk over every internship, used to verify statistics chunk by chunk
+    @Query("SELECT i.id AS id, i.organization.id AS organizationId FROM Internship i " +
+           "WHERE i.id > :afterId ORDER BY i.id")
+    List<InternshipOwner> findOwnersAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -3,6 +3,7 @@ package com.islandscholars.repository;
 import com.islandscholars.model.Industry;
 import com.islandscholars.model.OrganizationProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,29 @@ public interface OrganizationProfileRepository extends JpaRepository<Organizatio
     Optional<OrganizationProfile> findByUserId(Long userId);
     List<OrganizationProfile> findByIndustry(Industry industry);
     List<OrganizationProfile> findByCompanyNameContainingIgnoreCase(String companyName);
+
+    @Query("SELECT DISTINCT o FROM OrganizationProfile o JOIN FETCH o.user LEFT JOIN FETCH o.desiredSkills")
+    List<OrganizationProfile> findAllWithDesiredSkills();
+
+    interface OrganizationIndustry {
+        Long getUserId();
+        Industry getIndustry();
+    }
+
+    // Industry per organization user, for the catalog facets
+    @Query("SELECT o.user.id AS userId, o.industry AS industry FROM OrganizationProfile o")
+    List<OrganizationIndustry> findIndustries();
+
+    interface OrganizationPopularity {
+        Long getId();
+        Long getUserId();
+        String getName();
+        Long getInternships();
+    }
+
+    // Internships posted per organization, for the name typeahead
+    @Query("SELECT o.id AS id, o.user.id AS userId, o.companyName AS name, COUNT(i) AS internships " +
+           "FROM OrganizationProfile o LEFT JOIN Internship i ON i.organization = o.user " +
+           "GROUP BY o.id, o.user.id, o.companyName")
+    List<OrganizationPopularity> findPopularity();
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.OutboxEvent;
+import com.islandscholars.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // Due rows locked for claiming; rows another dispatcher is claiming are skipped
+    // (timeout -2 is SKIP LOCKED), not waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
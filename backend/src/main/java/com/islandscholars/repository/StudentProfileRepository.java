@@ -2,9 +2,12 @@ package com.islandscholars.repository;
 
 import com.islandscholars.model.StudentProfile;
 import com.islandscholars.model.University;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,11 @@ public interface StudentProfileRepository extends JpaRepository<StudentProfile,
     List<StudentProfile> findByUniversity(University university);
     List<StudentProfile> findByFieldOfStudy(String fieldOfStudy);
     List<StudentProfile> findByYearOfStudy(Integer yearOfStudy);
+
+    // Everything the skill index needs in one statement
+    @Query("SELECT DISTINCT p FROM StudentProfile p JOIN FETCH p.user LEFT JOIN FETCH p.skills")
+    List<StudentProfile> findAllWithSkills();
+
+    @EntityGraph(attributePaths = {"user", "university", "skills"})
+    List<StudentProfile> findByUserIdIn(Collection<Long> userIds);
 }
\ No newline at end of file
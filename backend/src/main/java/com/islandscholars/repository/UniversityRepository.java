@@ -1,7 +1,10 @@
 package com.islandscholars.repository;
 
+import com.islandscholars.dto.ResourceVersion;
 import com.islandscholars.model.University;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,22 @@ public interface UniversityRepository extends JpaRepository<University, Long> {
     Optional<University> findByUserId(Long userId);
     Optional<University> findByName(String name);
     List<University> findByNameContainingIgnoreCase(String name);
+
+    interface UniversityPopularity {
+        Long getId();
+        String getName();
+        Long getStudents();
+    }
+
+    // Registered students per university, for the name typeahead
+    @Query("SELECT u.id AS id, u.name AS name, COUNT(s) AS students FROM University u " +
+           "LEFT JOIN StudentProfile s ON s.university = u GROUP BY u.id, u.name")
+    List<UniversityPopularity> findPopularity();
+
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(u.updatedAt, 1L) FROM University u WHERE u.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.islandscholars.dto.ResourceVersion(MAX(u.updatedAt), COUNT(u)) FROM University u " +
+           "WHERE :name IS NULL OR LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    ResourceVersion findVersionByNameContaining(@Param("name") String name);
 }
\ No newline at end of file
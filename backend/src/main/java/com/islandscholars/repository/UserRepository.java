@@ -3,8 +3,13 @@ package com.islandscholars.repository;
 import com.islandscholars.model.Role;
 import com.islandscholars.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
     List<User> findByRole(Role role);
     List<User> findByRoleAndIsActiveTrue(Role role);
+
+    // Sign-in by either column in one query over both unique indexes; two rows only if
+    // one user's username is another's email
+    @Query("SELECT u FROM User u WHERE u.username = :login OR u.email = :login")
+    List<User> findByUsernameOrEmail(@Param("login") String login);
+
+    // Set-based duplicate checks for bulk onboarding: one query per chunk instead of two per user
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Rehash-on-login; a no-op if the password was changed since the old hash was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
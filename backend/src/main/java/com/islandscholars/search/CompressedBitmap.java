@@ -0,0 +1,345 @@
+package com.islandscholars.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of non-negative ints split into chunks of 65536 by their high 16 bits, each chunk
+ * stored either as a sorted {@code char[]} of its low bits (up to {@link #ARRAY_MAX}
+ * values, two bytes per value) or as a 1024-word bitmap once it is denser than that,
+ * the same layout Roaring bitmaps use. Sparse postings stay small, dense ones cost a
+ * fixed 8 KB per chunk, and intersections run word by word or by merging short arrays.
+ *
+ * <p>Not thread-safe; {@link InternshipFilterIndex} guards it with its lock.
+ * {@link #and} and {@link #or} never modify their arguments.
+ */
+final class CompressedBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Chunk[] chunks = new Chunk[0];
+    private int size;
+
+    private static final class Chunk {
+        // Exactly one of values/words is in use
+        char[] values;
+        long[] words;
+        int cardinality;
+
+        static Chunk ofValues(char[] values, int cardinality) {
+            Chunk chunk = new Chunk();
+            chunk.values = values;
+            chunk.cardinality = cardinality;
+            return chunk;
+        }
+
+        static Chunk ofWords(long[] words, int cardinality) {
+            Chunk chunk = new Chunk();
+            chunk.words = words;
+            chunk.cardinality = cardinality;
+            return chunk.cardinality <= ARRAY_MAX ? chunk.toValues() : chunk;
+        }
+
+        boolean contains(char low) {
+            return words != null
+                    ? (words[low >>> 6] & (1L << low)) != 0
+                    : Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (words != null) {
+                long before = words[low >>> 6];
+                words[low >>> 6] = before | (1L << low);
+                if (before == words[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at >= 0) {
+                return false;
+            }
+            at = -at - 1;
+            if (cardinality == ARRAY_MAX) {
+                toWords();
+                return add(low);
+            }
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = low;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (words != null) {
+                long before = words[low >>> 6];
+                words[low >>> 6] = before & ~(1L << low);
+                if (before == words[low >>> 6]) {
+                    return false;
+                }
+                // Back to an array with some slack, so a set hovering at the limit does not flip every time
+                if (--cardinality <= ARRAY_MAX / 2) {
+                    toValues();
+                }
+                return true;
+            }
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+            cardinality--;
+            return true;
+        }
+
+        private void toWords() {
+            long[] converted = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                converted[values[i] >>> 6] |= 1L << values[i];
+            }
+            words = converted;
+            values = null;
+        }
+
+        private Chunk toValues() {
+            char[] converted = new char[cardinality];
+            int n = 0;
+            for (int word = 0; word < WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    converted[n++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            values = converted;
+            words = null;
+            return this;
+        }
+
+        void forEach(int high, IntConsumer action) {
+            if (words == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(high | values[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    action.accept(high | (word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        static Chunk and(Chunk a, Chunk b) {
+            if (a.words != null && b.words != null) {
+                long[] words = new long[WORDS];
+                int cardinality = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] = a.words[i] & b.words[i];
+                    cardinality += Long.bitCount(words[i]);
+                }
+                return cardinality == 0 ? null : ofWords(words, cardinality);
+            }
+            if (a.words != null) {
+                return and(b, a);
+            }
+            char[] values = new char[a.cardinality];
+            int n = 0;
+            if (b.words != null) {
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (b.contains(a.values[i])) {
+                        values[n++] = a.values[i];
+                    }
+                }
+            } else {
+                for (int i = 0, j = 0; i < a.cardinality && j < b.cardinality; ) {
+                    if (a.values[i] < b.values[j]) {
+                        i++;
+                    } else if (a.values[i] > b.values[j]) {
+                        j++;
+                    } else {
+                        values[n++] = a.values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return n == 0 ? null : ofValues(values, n);
+        }
+
+        static Chunk or(Chunk a, Chunk b) {
+            if (a.words == null && b.words == null && a.cardinality + b.cardinality <= ARRAY_MAX) {
+                char[] values = new char[a.cardinality + b.cardinality];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < a.cardinality && j < b.cardinality) {
+                    char x = a.values[i];
+                    char y = b.values[j];
+                    values[n++] = x <= y ? x : y;
+                    if (x <= y) {
+                        i++;
+                    }
+                    if (y <= x) {
+                        j++;
+                    }
+                }
+                while (i < a.cardinality) {
+                    values[n++] = a.values[i++];
+                }
+                while (j < b.cardinality) {
+                    values[n++] = b.values[j++];
+                }
+                return ofValues(values, n);
+            }
+            long[] words = a.words != null ? a.words.clone() : new long[WORDS];
+            if (a.words == null) {
+                for (int i = 0; i < a.cardinality; i++) {
+                    words[a.values[i] >>> 6] |= 1L << a.values[i];
+                }
+            }
+            if (b.words != null) {
+                for (int i = 0; i < WORDS; i++) {
+                    words[i] |= b.words[i];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    words[b.values[i] >>> 6] |= 1L << b.values[i];
+                }
+            }
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return ofWords(words, cardinality);
+        }
+
+        Chunk copy() {
+            return words != null ? ofWords(words.clone(), cardinality) : ofValues(Arrays.copyOf(values, cardinality), cardinality);
+        }
+    }
+
+    boolean contains(int value) {
+        int at = find((char) (value >>> 16));
+        return at >= 0 && chunks[at].contains((char) value);
+    }
+
+    boolean add(int value) {
+        char high = (char) (value >>> 16);
+        int at = find(high);
+        if (at < 0) {
+            at = -at - 1;
+            insertChunk(at, high, Chunk.ofValues(new char[4], 0));
+        }
+        return chunks[at].add((char) value);
+    }
+
+    boolean remove(int value) {
+        int at = find((char) (value >>> 16));
+        if (at < 0 || !chunks[at].remove((char) value)) {
+            return false;
+        }
+        if (chunks[at].cardinality == 0) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(chunks, at + 1, chunks, at, size - at - 1);
+            chunks[--size] = null;
+        }
+        return true;
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += chunks[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        keys = new char[0];
+        chunks = new Chunk[0];
+        size = 0;
+    }
+
+    /** Visits the values in ascending order. */
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            chunks[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.chunks = new Chunk[size];
+        for (int i = 0; i < size; i++) {
+            copy.chunks[i] = chunks[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0, j = 0; i < a.size && j < b.size; ) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Chunk chunk = Chunk.and(a.chunks[i], b.chunks[j]);
+                if (chunk != null) {
+                    result.insertChunk(result.size, a.keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.insertChunk(result.size, a.keys[i], a.chunks[i++].copy());
+            } else if (i == a.size || b.keys[j] < a.keys[i]) {
+                result.insertChunk(result.size, b.keys[j], b.chunks[j++].copy());
+            } else {
+                result.insertChunk(result.size, a.keys[i], Chunk.or(a.chunks[i++], b.chunks[j++]));
+            }
+        }
+        return result;
+    }
+
+    private int find(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertChunk(int at, char high, Chunk chunk) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(chunks, at, chunks, at + 1, size - at);
+        keys[at] = high;
+        chunks[at] = chunk;
+        size++;
+    }
+}
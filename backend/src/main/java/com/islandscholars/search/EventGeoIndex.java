@@ -0,0 +1,133 @@
+package com.islandscholars.search;
+
+import com.islandscholars.model.Event;
+import com.islandscholars.model.EventStatus;
+import com.islandscholars.model.EventType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Events with coordinates on a {@link GeoGrid}, with the few fields the nearby query
+ * filters on, so it is answered without touching the database until the page of
+ * nearest events is known.
+ */
+@Component
+public class EventGeoIndex {
+
+    private record Entry(long id, GeoPoint point, LocalDateTime startDate, boolean active, EventType type) {}
+
+    private record Hit(long id, double distanceKm) {}
+
+    private static final Comparator<Hit> NEAREST = Comparator.comparingDouble(Hit::distanceKm)
+            .thenComparingLong(Hit::id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final GeoGrid grid = new GeoGrid();
+
+    public void rebuild(Collection<Event> events) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            grid.clear();
+            for (Event event : events) {
+                add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds or replaces one event; an event without coordinates is only removed. */
+    public void index(Event event) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(event.getId());
+            add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of active events starting after {@code after}, nearest to {@code near} first,
+     * within {@code radiusKm} unless it is null and of the given type unless that is null.
+     */
+    public List<Long> nearest(GeoPoint near, Double radiusKm, EventType type, LocalDateTime after, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // The farthest kept hit at the head, so it is evicted first
+            PriorityQueue<Hit> heap = new PriorityQueue<>(limit, NEAREST.reversed());
+            grid.forEachNear(near, radiusKm, id -> {
+                Entry entry = entries.get(id);
+                if (!entry.active() || !entry.startDate().isAfter(after)
+                        || (type != null && entry.type() != type)) {
+                    return;
+                }
+                double distance = near.distanceKm(entry.point());
+                if (radiusKm != null && distance > radiusKm) {
+                    return;
+                }
+                Hit hit = new Hit(id, distance);
+                if (heap.size() < limit) {
+                    heap.offer(hit);
+                } else if (NEAREST.compare(hit, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.offer(hit);
+                }
+            });
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(NEAREST);
+            return hits.stream().map(Hit::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Event event) {
+        GeoPoint point = GeoPoint.ofNullable(event.getLatitude(), event.getLongitude());
+        if (point == null || event.getStartDate() == null) {
+            return;
+        }
+        entries.put(event.getId(), new Entry(event.getId(), point, event.getStartDate(),
+                event.getStatus() == EventStatus.ACTIVE, event.getEventType()));
+        grid.add(event.getId(), point);
+    }
+
+    private void removeInternal(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            grid.remove(id, entry.point());
+        }
+    }
+}
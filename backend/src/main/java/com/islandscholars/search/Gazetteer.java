@@ -0,0 +1,131 @@
+package com.islandscholars.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local gazetteer of Zanzibar and Tanzanian places, read from {@code gazetteer/places.csv}
+ * on the classpath ({@code name,latitude,longitude,alias|alias}). Geocoding never leaves
+ * the process: a free-text location is matched against place names and aliases after
+ * {@link TextAnalyzer#fold} ("Dar-es-Salaam" is "dar es salaam").
+ *
+ * <p>Comma-separated parts are tried in order, most specific first, and within a part
+ * the longest run of words naming a place wins, so "Near Forodhani, Stone Town, Zanzibar"
+ * resolves to Stone Town rather than to Zanzibar City.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Gazetteer.class);
+
+    private static final String RESOURCE = "gazetteer/places.csv";
+
+    private final Map<String, GeoPoint> places = new HashMap<>();
+    private int longestName = 1;
+
+    public Gazetteer() {
+        try (InputStream in = Gazetteer.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Gazetteer resource " + RESOURCE + " is missing");
+            }
+            load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Loaded {} place names and aliases into the gazetteer", places.size());
+    }
+
+    /** Coordinates of the most specific known place named in {@code location}. */
+    public Optional<GeoPoint> geocode(String location) {
+        if (location == null || location.isBlank()) {
+            return Optional.empty();
+        }
+        for (String part : location.split(",")) {
+            String key = TextAnalyzer.fold(part);
+            if (key.isEmpty()) {
+                continue;
+            }
+            GeoPoint exact = places.get(key);
+            if (exact != null) {
+                return Optional.of(exact);
+            }
+            String[] words = key.split(" ");
+            for (int length = Math.min(longestName, words.length); length > 0; length--) {
+                for (int from = 0; from + length <= words.length; from++) {
+                    GeoPoint point = places.get(String.join(" ", Arrays.copyOfRange(words, from, from + length)));
+                    if (point != null) {
+                        return Optional.of(point);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The center of a proximity query: the named place, or the given coordinates; null
+     * when neither is given.
+     *
+     * @throws IllegalArgumentException for an unknown place, both forms at once, or only one coordinate
+     */
+    public GeoPoint resolve(String near, Double latitude, Double longitude) {
+        boolean named = near != null && !near.isBlank();
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("lat and lon must be given together");
+        }
+        if (named && latitude != null) {
+            throw new IllegalArgumentException("Pass either near or lat/lon, not both");
+        }
+        if (named) {
+            return geocode(near).orElseThrow(() -> new IllegalArgumentException("Unknown place: " + near.trim()));
+        }
+        return GeoPoint.ofNullable(latitude, longitude);
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    private void load(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 4) {
+                throw new IllegalStateException(RESOURCE + ":" + lineNumber + ": expected name,latitude,longitude,aliases");
+            }
+            GeoPoint point = new GeoPoint(Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim()));
+            put(fields[0], point);
+            for (String alias : fields[3].split("\\|")) {
+                put(alias, point);
+            }
+        }
+    }
+
+    private void put(String name, GeoPoint point) {
+        String key = TextAnalyzer.fold(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        // The first entry wins, so the file lists the better-known of two same-named places first
+        places.putIfAbsent(key, point);
+        longestName = Math.max(longestName, key.split(" ").length);
+    }
+}
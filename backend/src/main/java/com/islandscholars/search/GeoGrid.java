@@ -0,0 +1,117 @@
+package com.islandscholars.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Fixed grid of {@link #CELL_DEGREES}-degree cells (about 11 km at the equator), each
+ * holding the values placed in it. A radius query visits only the cells overlapping the
+ * circle's bounding box, or every occupied cell when that box covers more cells than are
+ * occupied; callers check the exact distance of what they are handed.
+ *
+ * <p>Not thread-safe; the indexes using it guard it with their own lock. Boxes are
+ * clamped at the poles and the antimeridian rather than wrapped, which is fine for the
+ * places the gazetteer knows.
+ */
+final class GeoGrid {
+
+    static final double CELL_DEGREES = 0.1;
+
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private static final int ROWS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private static final class Cell {
+        long[] values = new long[4];
+        int size;
+    }
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    void add(long value, GeoPoint point) {
+        Cell cell = cells.computeIfAbsent(key(row(point.latitude()), column(point.longitude())), k -> new Cell());
+        if (cell.size == cell.values.length) {
+            cell.values = Arrays.copyOf(cell.values, cell.size * 2);
+        }
+        cell.values[cell.size++] = value;
+    }
+
+    void remove(long value, GeoPoint point) {
+        long key = key(row(point.latitude()), column(point.longitude()));
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size; i++) {
+            if (cell.values[i] == value) {
+                cell.values[i] = cell.values[--cell.size];
+                break;
+            }
+        }
+        if (cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    /** Visits every value in a cell that may lie within {@code radiusKm}; null visits all. */
+    void forEachNear(GeoPoint center, Double radiusKm, LongConsumer action) {
+        if (radiusKm == null) {
+            cells.values().forEach(cell -> forEach(cell, action));
+            return;
+        }
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double widestLatitude = Math.min(90, Math.abs(center.latitude()) + latitudeDelta);
+        double cos = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeDelta = cos < 1e-9 ? 360 : radiusKm / (KM_PER_DEGREE * cos);
+
+        int fromRow = row(center.latitude() - latitudeDelta);
+        int toRow = row(center.latitude() + latitudeDelta);
+        int fromColumn = longitudeDelta >= 180 ? 0 : column(center.longitude() - longitudeDelta);
+        int toColumn = longitudeDelta >= 180 ? COLUMNS - 1 : column(center.longitude() + longitudeDelta);
+
+        long boxCells = (long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1);
+        if (boxCells > cells.size()) {
+            cells.forEach((key, cell) -> {
+                int row = (int) (key >>> 32);
+                int column = (int) (long) key;
+                if (row >= fromRow && row <= toRow && column >= fromColumn && column <= toColumn) {
+                    forEach(cell, action);
+                }
+            });
+            return;
+        }
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                Cell cell = cells.get(key(row, column));
+                if (cell != null) {
+                    forEach(cell, action);
+                }
+            }
+        }
+    }
+
+    private static void forEach(Cell cell, LongConsumer action) {
+        for (int i = 0; i < cell.size; i++) {
+            action.accept(cell.values[i]);
+        }
+    }
+
+    private static int row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int column(double longitude) {
+        return Math.max(0, Math.min(COLUMNS - 1, (int) Math.floor((longitude + 180) / CELL_DEGREES)));
+    }
+
+    private static long key(int row, int column) {
+        return (long) row << 32 | column;
+    }
+}
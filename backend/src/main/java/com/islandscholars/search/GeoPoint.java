@@ -0,0 +1,30 @@
+package com.islandscholars.search;
+
+/**
+ * A WGS84 position in decimal degrees.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public GeoPoint {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+
+    /** The point, or null unless both coordinates are present. */
+    public static GeoPoint ofNullable(Double latitude, Double longitude) {
+        return latitude == null || longitude == null ? null : new GeoPoint(latitude, longitude);
+    }
+
+    /** Great-circle distance by the haversine formula. */
+    public double distanceKm(GeoPoint other) {
+        double dLatitude = Math.toRadians(other.latitude - latitude);
+        double dLongitude = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
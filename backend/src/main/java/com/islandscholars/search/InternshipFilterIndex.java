@@ -0,0 +1,675 @@
+package com.islandscholars.search;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Industry;
+import com.islandscholars.model.Internship;
+import com.islandscholars.service.TagDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Answers catalog filters from memory. Every internship gets a dense ordinal; each
+ * required skill (by tag id), each {@link Duration}, remote and on-site, and the set of
+ * open internships (active, deadline after today) are {@link CompressedBitmap}s over
+ * those ordinals. A filter intersects the bitmaps it names, smallest first, and only
+ * the surviving ordinals are checked against the text filters and the keyset cursor,
+ * so the cost follows the size of the result rather than of the catalog.
+ *
+ * <p>Pages come back as ids in the same order and with the same keyset semantics as
+ * the SQL catalog queries, so both paths share cursors.
+ *
+ * <p>The per-ordinal columns (duration, remote, location, stipend bucket, industry)
+ * also serve {@link #facets}, which counts every facet of a result set in one pass.
+ *
+ * <p>Coordinates come from the gazetteer, so internships sit on a few hundred distinct
+ * points at most. Each point has a bitmap of the internships on it and the points are
+ * placed on a {@link GeoGrid}: a radius ORs the bitmaps of the points inside it into one
+ * more bitmap to intersect, and {@link #pageByDistance} walks the points nearest first,
+ * so distances are computed per point rather than per internship.
+ */
+@Component
+public class InternshipFilterIndex {
+
+    /**
+     * Null members do not filter. {@code skillIds} are tag ids, matched all-of or any-of
+     * per {@code allSkills}; an empty collection matches nothing. {@code radiusKm} keeps
+     * internships within that distance of {@code near}; {@code near} alone only sets the
+     * origin of {@link #pageByDistance}.
+     */
+    public record Filter(String title, String location, Duration duration, Boolean remote,
+                         Collection<Integer> skillIds, boolean allSkills, GeoPoint near, Double radiusKm) {}
+
+    /**
+     * Lower bounds of the stipend buckets after the first: bucket 0 is unpaid (no or zero
+     * stipend), bucket i holds stipends from {@code STIPEND_BOUNDS[i - 1]} up to the next bound.
+     */
+    public static final long[] STIPEND_BOUNDS = {1, 100_000, 250_000, 500_000};
+
+    public record ValueCount(String value, int count) {}
+
+    /**
+     * Counts per facet value, indexed by {@link Duration#ordinal()}, stipend bucket and
+     * {@link Industry#ordinal()}. Each facet counts the result set as filtered by every
+     * other facet but not by its own, so the sidebar shows what selecting another value
+     * would return; {@code total} is the result set with all filters applied.
+     */
+    public record Facets(int total, int[] durations, int remote, int onSite, List<ValueCount> locations,
+                         int[] stipends, int[] industries) {}
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Function<String, Integer> tagIds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns indexed by ordinal
+    private long[] ids = new long[0];
+    private int[] deadlines = new int[0];
+    private long[] createdAt = new long[0];
+    private String[] titles = new String[0];
+    private String[] locations = new String[0];
+    private int[][] skills = new int[0][];
+    private byte[] durations = new byte[0];
+    private boolean[] remoteFlags = new boolean[0];
+    private int[] locationIds = new int[0];
+    private byte[] stipendBuckets = new byte[0];
+    private byte[] industries = new byte[0];
+    private long[] organizationIds = new long[0];
+    // Index into points, -1 without coordinates
+    private int[] pointIds = new int[0];
+
+    // "Stone Town, Zanzibar" and "stone town" share one location facet value
+    private final Map<String, Integer> locationKeys = new HashMap<>();
+    private final List<String> locationNames = new ArrayList<>();
+    private final Map<Long, Industry> organizationIndustries = new HashMap<>();
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private int[] freeOrdinals = new int[0];
+    private int freeCount;
+    private int nextOrdinal;
+
+    private final Map<Integer, CompressedBitmap> bySkill = new HashMap<>();
+    private final CompressedBitmap[] byDuration = new CompressedBitmap[Duration.values().length];
+    private final CompressedBitmap remote = new CompressedBitmap();
+    private final CompressedBitmap onSite = new CompressedBitmap();
+    private final CompressedBitmap active = new CompressedBitmap();
+
+    // Distinct coordinates, the internships on each, and a grid over the occupied ones
+    private final Map<GeoPoint, Integer> pointKeys = new HashMap<>();
+    private final List<GeoPoint> points = new ArrayList<>();
+    private final List<CompressedBitmap> byPoint = new ArrayList<>();
+    private final GeoGrid grid = new GeoGrid();
+
+    private record PointDistance(int point, double distanceKm) {}
+
+    // Active with a deadline after openDay; rebuilt from active when the day changes
+    private final CompressedBitmap open = new CompressedBitmap();
+    private volatile long openDay = Long.MIN_VALUE;
+
+    @Autowired
+    public InternshipFilterIndex(TagDictionary tagDictionary) {
+        this(tagDictionary::idFor);
+    }
+
+    /** @param tagIds tag id of a skill name, null for a blank one */
+    public InternshipFilterIndex(Function<String, Integer> tagIds) {
+        this.tagIds = tagIds;
+        for (int i = 0; i < byDuration.length; i++) {
+            byDuration[i] = new CompressedBitmap();
+        }
+    }
+
+    /** @param industryByOrganization industry of each organization, by organization user id */
+    public void rebuild(Collection<Internship> internships, Map<Long, Industry> industryByOrganization) {
+        lock.writeLock().lock();
+        try {
+            ids = new long[0];
+            deadlines = new int[0];
+            createdAt = new long[0];
+            titles = new String[0];
+            locations = new String[0];
+            skills = new int[0][];
+            durations = new byte[0];
+            remoteFlags = new boolean[0];
+            locationIds = new int[0];
+            stipendBuckets = new byte[0];
+            industries = new byte[0];
+            organizationIds = new long[0];
+            pointIds = new int[0];
+            pointKeys.clear();
+            points.clear();
+            byPoint.clear();
+            locationKeys.clear();
+            locationNames.clear();
+            organizationIndustries.clear();
+            organizationIndustries.putAll(industryByOrganization);
+            ordinals.clear();
+            freeCount = 0;
+            nextOrdinal = 0;
+            bySkill.clear();
+            for (CompressedBitmap bitmap : byDuration) {
+                bitmap.clear();
+            }
+            remote.clear();
+            onSite.clear();
+            active.clear();
+            grid.clear();
+            open.clear();
+            openDay = Long.MIN_VALUE;
+            for (Internship internship : internships) {
+                add(internship);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds or replaces one internship. */
+    public void index(Internship internship) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(internship.getId());
+            add(internship);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Records an organization's industry and applies it to its internships. */
+    public void indexOrganization(Long organizationId, Industry industry) {
+        lock.writeLock().lock();
+        try {
+            organizationIndustries.put(organizationId, industry);
+            byte value = industry == null ? -1 : (byte) industry.ordinal();
+            for (int ordinal : ordinals.values()) {
+                if (organizationIds[ordinal] == organizationId) {
+                    industries[ordinal] = value;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of open internships matching the filter ordered by (deadline, id), starting
+     * after the given position; the first page starts at (today, Long.MAX_VALUE).
+     */
+    public List<Long> pageByDeadline(Filter filter, LocalDate today, LocalDate afterDeadline, long afterId,
+                                     int limit) {
+        int after = (int) afterDeadline.toEpochDay();
+        Comparator<Integer> order = Comparator.<Integer>comparingInt(ordinal -> deadlines[ordinal])
+                .thenComparingLong(ordinal -> ids[ordinal]);
+        return page(filter, today, limit, order,
+                ordinal -> deadlines[ordinal] > after || (deadlines[ordinal] == after && ids[ordinal] > afterId));
+    }
+
+    /** Ids of open internships matching the filter, newest first, created before the given position. */
+    public List<Long> pageByNewest(Filter filter, LocalDate today, LocalDateTime beforeCreatedAt, long beforeId,
+                                   int limit) {
+        long before = micros(beforeCreatedAt);
+        Comparator<Integer> order = Comparator.<Integer>comparingLong(ordinal -> createdAt[ordinal]).reversed()
+                .thenComparing(Comparator.<Integer>comparingLong(ordinal -> ids[ordinal]).reversed());
+        return page(filter, today, limit, order,
+                ordinal -> createdAt[ordinal] < before || (createdAt[ordinal] == before && ids[ordinal] < beforeId));
+    }
+
+    /**
+     * Ids of open internships with coordinates matching the filter, nearest to
+     * {@code filter.near()} first, then by id, starting after the given position; the
+     * first page starts at (-1, Long.MAX_VALUE).
+     */
+    public List<Long> pageByDistance(Filter filter, LocalDate today, double afterDistanceKm, long afterId, int limit) {
+        GeoPoint near = filter.near();
+        if (near == null) {
+            throw new IllegalArgumentException("Ordering by distance needs an origin");
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+        ensureOpen(today);
+        String title = lowerOrNull(filter.title());
+        String location = lowerOrNull(filter.location());
+
+        lock.readLock().lock();
+        try {
+            // The radius is applied by the walk over points below, not as a bitmap
+            CompressedBitmap candidates = candidates(new Filter(null, null, filter.duration(), filter.remote(),
+                    filter.skillIds(), filter.allSkills(), null, null));
+            List<PointDistance> nearby = new ArrayList<>();
+            for (PointDistance point : pointsNear(near, filter.radiusKm())) {
+                if (point.distanceKm() >= afterDistanceKm) {
+                    nearby.add(point);
+                }
+            }
+            nearby.sort(Comparator.comparingDouble(PointDistance::distanceKm));
+
+            List<Long> page = new ArrayList<>(limit);
+            for (int i = 0; i < nearby.size() && page.size() < limit && !candidates.isEmpty(); ) {
+                // Points at exactly the same distance are one group, ordered by id across the group
+                double distance = nearby.get(i).distanceKm();
+                long after = distance == afterDistanceKm ? afterId : Long.MIN_VALUE;
+                int room = limit - page.size();
+                PriorityQueue<Long> group = new PriorityQueue<>(room, Comparator.reverseOrder());
+                for (; i < nearby.size() && nearby.get(i).distanceKm() == distance; i++) {
+                    CompressedBitmap.and(candidates, byPoint.get(nearby.get(i).point())).forEach(ordinal -> {
+                        long id = ids[ordinal];
+                        if (id <= after
+                                || (title != null && !titles[ordinal].contains(title))
+                                || (location != null && !locations[ordinal].contains(location))) {
+                            return;
+                        }
+                        if (group.size() < room) {
+                            group.offer(id);
+                        } else if (id < group.peek()) {
+                            group.poll();
+                            group.offer(id);
+                        }
+                    });
+                }
+                List<Long> ordered = new ArrayList<>(group);
+                ordered.sort(null);
+                page.addAll(ordered);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Distance in km from {@code near} to the internship, the same value {@link #pageByDistance} orders by. */
+    public double distanceKm(GeoPoint near, long id) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            return ordinal == null || pointIds[ordinal] < 0 ? Double.NaN : near.distanceKm(points.get(pointIds[ordinal]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts over the open internships matching the filter; the location facet
+     * lists the {@code maxLocations} most frequent values.
+     */
+    public Facets facets(Filter filter, LocalDate today, int maxLocations) {
+        ensureOpen(today);
+        String title = lowerOrNull(filter.title());
+        String location = lowerOrNull(filter.location());
+        int duration = filter.duration() == null ? -2 : filter.duration().ordinal();
+        Boolean remoteFilter = filter.remote();
+
+        lock.readLock().lock();
+        try {
+            // Skills and distance are not facets, so they narrow every count; the facet filters are checked per row
+            CompressedBitmap candidates = candidates(new Filter(null, null, null, null,
+                    filter.skillIds(), filter.allSkills(), filter.near(), filter.radiusKm()));
+            int[] total = {0};
+            int[] durationCounts = new int[Duration.values().length];
+            int[] remoteCounts = new int[2];
+            int[] locationCounts = new int[locationNames.size()];
+            int[] stipendCounts = new int[STIPEND_BOUNDS.length + 1];
+            int[] industryCounts = new int[Industry.values().length];
+            candidates.forEach(ordinal -> {
+                if (title != null && !titles[ordinal].contains(title)) {
+                    return;
+                }
+                boolean durationMiss = duration != -2 && durations[ordinal] != duration;
+                boolean remoteMiss = remoteFilter != null && remoteFlags[ordinal] != remoteFilter;
+                boolean locationMiss = location != null && !locations[ordinal].contains(location);
+                int misses = (durationMiss ? 1 : 0) + (remoteMiss ? 1 : 0) + (locationMiss ? 1 : 0);
+                if (misses > 1) {
+                    return;
+                }
+                // A row failing exactly one facet filter still counts towards that facet's other values
+                if (misses == 0 || durationMiss) {
+                    if (durations[ordinal] >= 0) {
+                        durationCounts[durations[ordinal]]++;
+                    }
+                }
+                if (misses == 0 || remoteMiss) {
+                    remoteCounts[remoteFlags[ordinal] ? 1 : 0]++;
+                }
+                if (misses == 0 || locationMiss) {
+                    if (locationIds[ordinal] >= 0) {
+                        locationCounts[locationIds[ordinal]]++;
+                    }
+                }
+                if (misses == 0) {
+                    total[0]++;
+                    stipendCounts[stipendBuckets[ordinal]]++;
+                    if (industries[ordinal] >= 0) {
+                        industryCounts[industries[ordinal]]++;
+                    }
+                }
+            });
+
+            List<ValueCount> topLocations = new ArrayList<>();
+            for (int id = 0; id < locationCounts.length; id++) {
+                if (locationCounts[id] > 0) {
+                    topLocations.add(new ValueCount(locationNames.get(id), locationCounts[id]));
+                }
+            }
+            topLocations.sort(Comparator.comparingInt(ValueCount::count).reversed()
+                    .thenComparing(ValueCount::value));
+            return new Facets(total[0], durationCounts, remoteCounts[1], remoteCounts[0],
+                    topLocations.subList(0, Math.min(maxLocations, topLocations.size())),
+                    stipendCounts, industryCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private interface Position {
+        boolean isAfterCursor(int ordinal);
+    }
+
+    private List<Long> page(Filter filter, LocalDate today, int limit, Comparator<Integer> order, Position cursor) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        ensureOpen(today);
+        String title = lowerOrNull(filter.title());
+        String location = lowerOrNull(filter.location());
+
+        lock.readLock().lock();
+        try {
+            CompressedBitmap candidates = candidates(filter);
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            // The last row in page order at the head, so it is evicted first
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit, order.reversed());
+            candidates.forEach(ordinal -> {
+                if (!cursor.isAfterCursor(ordinal)
+                        || (title != null && !titles[ordinal].contains(title))
+                        || (location != null && !locations[ordinal].contains(location))) {
+                    return;
+                }
+                if (heap.size() < limit) {
+                    heap.offer(ordinal);
+                } else if (order.compare(ordinal, heap.peek()) < 0) {
+                    // Most candidates of a broad filter sort after a full page and stop here
+                    heap.poll();
+                    heap.offer(ordinal);
+                }
+            });
+            List<Integer> page = new ArrayList<>(heap);
+            page.sort(order);
+            return page.stream().map(ordinal -> ids[ordinal]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CompressedBitmap candidates(Filter filter) {
+        List<CompressedBitmap> required = new ArrayList<>();
+        required.add(open);
+        if (filter.duration() != null) {
+            required.add(byDuration[filter.duration().ordinal()]);
+        }
+        if (filter.remote() != null) {
+            required.add(filter.remote() ? remote : onSite);
+        }
+        if (filter.skillIds() != null) {
+            if (filter.skillIds().isEmpty()) {
+                return new CompressedBitmap();
+            }
+            Set<Integer> skillIds = new LinkedHashSet<>(filter.skillIds());
+            if (filter.allSkills()) {
+                for (Integer skillId : skillIds) {
+                    required.add(bySkill.getOrDefault(skillId, new CompressedBitmap()));
+                }
+            } else {
+                CompressedBitmap any = new CompressedBitmap();
+                for (Integer skillId : skillIds) {
+                    CompressedBitmap postings = bySkill.get(skillId);
+                    if (postings != null) {
+                        any = CompressedBitmap.or(any, postings);
+                    }
+                }
+                required.add(any);
+            }
+        }
+        if (filter.near() != null && filter.radiusKm() != null) {
+            CompressedBitmap within = new CompressedBitmap();
+            for (PointDistance point : pointsNear(filter.near(), filter.radiusKm())) {
+                within = CompressedBitmap.or(within, byPoint.get(point.point()));
+            }
+            required.add(within);
+        }
+
+        // Smallest first: every later step only shrinks the running result
+        required.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        CompressedBitmap result = required.get(0);
+        for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+            result = CompressedBitmap.and(result, required.get(i));
+        }
+        return result;
+    }
+
+    private void ensureOpen(LocalDate today) {
+        long day = today.toEpochDay();
+        if (openDay == day) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (openDay != day) {
+                open.clear();
+                active.forEach(ordinal -> {
+                    if (deadlines[ordinal] > day) {
+                        open.add(ordinal);
+                    }
+                });
+                openDay = day;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Internship internship) {
+        int ordinal = allocate(internship.getId());
+        ids[ordinal] = internship.getId();
+        deadlines[ordinal] = internship.getApplicationDeadline() == null
+                ? Integer.MIN_VALUE : (int) internship.getApplicationDeadline().toEpochDay();
+        createdAt[ordinal] = internship.getCreatedAt() == null ? Long.MIN_VALUE : micros(internship.getCreatedAt());
+        titles[ordinal] = lowerOrEmpty(internship.getTitle());
+        locations[ordinal] = lowerOrEmpty(internship.getLocation());
+        durations[ordinal] = internship.getDuration() == null ? -1 : (byte) internship.getDuration().ordinal();
+        remoteFlags[ordinal] = internship.isRemote();
+        locationIds[ordinal] = locationId(internship.getLocation());
+        stipendBuckets[ordinal] = stipendBucket(internship.getStipendAmount());
+        organizationIds[ordinal] = internship.getOrganization() == null || internship.getOrganization().getId() == null
+                ? Long.MIN_VALUE : internship.getOrganization().getId();
+        Industry industry = organizationIndustries.get(organizationIds[ordinal]);
+        industries[ordinal] = industry == null ? -1 : (byte) industry.ordinal();
+        pointIds[ordinal] = pointId(GeoPoint.ofNullable(internship.getLatitude(), internship.getLongitude()));
+        if (pointIds[ordinal] >= 0) {
+            CompressedBitmap onPoint = byPoint.get(pointIds[ordinal]);
+            if (onPoint.isEmpty()) {
+                grid.add(pointIds[ordinal], points.get(pointIds[ordinal]));
+            }
+            onPoint.add(ordinal);
+        }
+
+        int[] skillIds = internship.getSkillsRequired() == null ? new int[0] : internship.getSkillsRequired().stream()
+                .map(tagIds)
+                .filter(id -> id != null)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        skills[ordinal] = skillIds;
+        for (int skillId : skillIds) {
+            bySkill.computeIfAbsent(skillId, id -> new CompressedBitmap()).add(ordinal);
+        }
+        if (internship.getDuration() != null) {
+            byDuration[internship.getDuration().ordinal()].add(ordinal);
+        }
+        (internship.isRemote() ? remote : onSite).add(ordinal);
+        if (internship.isActive()) {
+            active.add(ordinal);
+            if (deadlines[ordinal] > openDay) {
+                open.add(ordinal);
+            }
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        for (int skillId : skills[ordinal]) {
+            CompressedBitmap postings = bySkill.get(skillId);
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                bySkill.remove(skillId);
+            }
+        }
+        for (CompressedBitmap bitmap : byDuration) {
+            bitmap.remove(ordinal);
+        }
+        remote.remove(ordinal);
+        onSite.remove(ordinal);
+        active.remove(ordinal);
+        open.remove(ordinal);
+        if (pointIds[ordinal] >= 0) {
+            CompressedBitmap onPoint = byPoint.get(pointIds[ordinal]);
+            onPoint.remove(ordinal);
+            if (onPoint.isEmpty()) {
+                grid.remove(pointIds[ordinal], points.get(pointIds[ordinal]));
+            }
+        }
+        skills[ordinal] = null;
+        titles[ordinal] = null;
+        locations[ordinal] = null;
+
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, Math.max(16, freeCount * 2));
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    // Reuses freed ordinals so the bitmaps stay dense under churn
+    private int allocate(Long id) {
+        int ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+        if (ordinal >= ids.length) {
+            int capacity = Math.max(64, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+            skills = Arrays.copyOf(skills, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            remoteFlags = Arrays.copyOf(remoteFlags, capacity);
+            locationIds = Arrays.copyOf(locationIds, capacity);
+            stipendBuckets = Arrays.copyOf(stipendBuckets, capacity);
+            industries = Arrays.copyOf(industries, capacity);
+            organizationIds = Arrays.copyOf(organizationIds, capacity);
+            pointIds = Arrays.copyOf(pointIds, capacity);
+        }
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    // The place before the first comma, so "Stone Town, Zanzibar" counts as "Stone Town"
+    private int locationId(String location) {
+        if (location == null) {
+            return -1;
+        }
+        int comma = location.indexOf(',');
+        String place = WHITESPACE.matcher((comma < 0 ? location : location.substring(0, comma)).trim()).replaceAll(" ");
+        String key = TagDictionary.normalize(place);
+        if (key.isEmpty()) {
+            return -1;
+        }
+        return locationKeys.computeIfAbsent(key, k -> {
+            locationNames.add(place);
+            return locationNames.size() - 1;
+        });
+    }
+
+    private int pointId(GeoPoint point) {
+        if (point == null) {
+            return -1;
+        }
+        return pointKeys.computeIfAbsent(point, p -> {
+            points.add(p);
+            byPoint.add(new CompressedBitmap());
+            return points.size() - 1;
+        });
+    }
+
+    // Occupied points within radiusKm of near, or all of them for a null radius
+    private List<PointDistance> pointsNear(GeoPoint near, Double radiusKm) {
+        List<PointDistance> result = new ArrayList<>();
+        grid.forEachNear(near, radiusKm, point -> {
+            double distance = near.distanceKm(points.get((int) point));
+            if (radiusKm == null || distance <= radiusKm) {
+                result.add(new PointDistance((int) point, distance));
+            }
+        });
+        return result;
+    }
+
+    private static byte stipendBucket(BigDecimal amount) {
+        long value = amount == null ? 0 : amount.longValue();
+        byte bucket = 0;
+        while (bucket < STIPEND_BOUNDS.length && value >= STIPEND_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Timestamps are stored with microsecond precision, so compare at that precision
+    private static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static String lowerOrEmpty(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static String lowerOrNull(String text) {
+        return text == null || text.isEmpty() ? null : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,218 @@
+package com.islandscholars.search;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over internship title, description, requirements
+ * and required skills, ranked with BM25. Query cost is proportional to the
+ * postings of the query terms rather than to the number of internships.
+ */
+@Component
+public class InternshipSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts applied to term frequencies (a simplified BM25F)
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float SKILL_WEIGHT = 2.0f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    public record SearchHit(Long id, double score) {}
+
+    private static final class IndexedInternship {
+        final Map<String, Float> termFrequencies;
+        final float length;
+        final Duration duration;
+        final boolean remote;
+        final boolean active;
+        final LocalDate applicationDeadline;
+        final String location;
+
+        IndexedInternship(Map<String, Float> termFrequencies, float length, Internship internship) {
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+            this.duration = internship.getDuration();
+            this.remote = internship.isRemote();
+            this.active = internship.isActive();
+            this.applicationDeadline = internship.getApplicationDeadline();
+            this.location = internship.getLocation() == null ? "" : internship.getLocation().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, IndexedInternship> documents = new HashMap<>();
+    private double totalLength;
+
+    public void rebuild(Collection<Internship> internships) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (Internship internship : internships) {
+                add(internship);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds or replaces the postings of one internship. */
+    public void index(Internship internship) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(internship.getId());
+            add(internship);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks active internships with a deadline after {@code openAfter} against the query.
+     * Optional filters are applied only to documents that match at least one term.
+     */
+    public List<SearchHit> search(String query, String location, Duration duration, Boolean isRemote,
+                                  LocalDate openAfter, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String locationFilter = location == null || location.isBlank() ? null : location.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return List.of();
+            }
+            double avgLength = totalLength / docCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Float> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                    IndexedInternship doc = documents.get(posting.getKey());
+                    if (!matches(doc, locationFilter, duration, isRemote, openAfter)) {
+                        continue;
+                    }
+                    double tf = posting.getValue();
+                    double norm = tf + K1 * (1 - B + B * doc.length / avgLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(IndexedInternship doc, String location, Duration duration, Boolean isRemote,
+                                   LocalDate openAfter) {
+        return doc.active
+                && (openAfter == null || (doc.applicationDeadline != null && doc.applicationDeadline.isAfter(openAfter)))
+                && (duration == null || duration == doc.duration)
+                && (isRemote == null || isRemote == doc.remote)
+                && (location == null || doc.location.contains(location));
+    }
+
+    private static List<SearchHit> topK(Map<Long, Double> scores, int limit) {
+        // Lowest score (then highest id) at the head so it is evicted first
+        Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(SearchHit::id, Comparator.reverseOrder());
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(new SearchHit(entry.getKey(), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(ranking.reversed());
+        return hits;
+    }
+
+    private void add(Internship internship) {
+        Map<String, Float> tf = new HashMap<>();
+        float length = 0;
+        length += addField(tf, internship.getTitle(), TITLE_WEIGHT);
+        length += addField(tf, internship.getDescription(), BODY_WEIGHT);
+        length += addField(tf, internship.getRequirements(), BODY_WEIGHT);
+        if (internship.getSkillsRequired() != null) {
+            for (String skill : internship.getSkillsRequired()) {
+                length += addField(tf, skill, SKILL_WEIGHT);
+            }
+        }
+
+        Long id = internship.getId();
+        for (Map.Entry<String, Float> entry : tf.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documents.put(id, new IndexedInternship(tf, length, internship));
+        totalLength += length;
+    }
+
+    private static float addField(Map<String, Float> tf, String text, float weight) {
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (String term : terms) {
+            tf.merge(term, weight, Float::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    private void removeInternal(Long id) {
+        IndexedInternship doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.termFrequencies.keySet()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= doc.length;
+    }
+}
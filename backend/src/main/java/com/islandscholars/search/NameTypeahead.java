@@ -0,0 +1,268 @@
+package com.islandscholars.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over a set of names. Every word of a name is indexed under each of its
+ * prefixes up to {@link #MAX_PREFIX} characters, so "dar" finds "University of Dar es
+ * Salaam". A query matches names where each of its words starts some word of the name;
+ * the shortest posting list among the query words is scanned and the best
+ * {@code limit} names by popularity are kept in a bounded heap. Queries and names are
+ * compared after {@link TextAnalyzer#fold}.
+ *
+ * <p>Thread-safe: reads share a lock, writes take it exclusively.
+ */
+public class NameTypeahead {
+
+    /** Prefixes beyond this length are not indexed; longer query words are checked per candidate. */
+    static final int MAX_PREFIX = 8;
+
+    public record Suggestion(long id, String name, int popularity) {}
+
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Columns indexed by ordinal
+    private long[] ids = new long[0];
+    private String[] names = new String[0];
+    private String[][] words = new String[0][];
+    private int[] popularity = new int[0];
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private int[] freeOrdinals = new int[0];
+    private int freeCount;
+    private int nextOrdinal;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // Most popular first, then by name and id so equal scores come back in a stable order
+    private final Comparator<Integer> ranking = Comparator.<Integer>comparingInt(ordinal -> popularity[ordinal])
+            .reversed()
+            .thenComparing(ordinal -> names[ordinal], String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(ordinal -> ids[ordinal]);
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ids = new long[0];
+            names = new String[0];
+            words = new String[0][];
+            popularity = new int[0];
+            ordinals.clear();
+            freeCount = 0;
+            nextOrdinal = 0;
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds or renames an entry; a renamed entry keeps its popularity. A blank name removes it. */
+    public void put(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(id);
+            int previous = existing == null ? 0 : popularity[existing];
+            removeInternal(id);
+            add(id, name, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(long id, String name, int popularity) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            add(id, name, popularity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Changes an entry's popularity by {@code delta}, never below zero; unknown ids are ignored. */
+    public void adjustPopularity(long id, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                popularity[ordinal] = Math.max(0, popularity[ordinal] + delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} names matching {@code query}, most popular first; none for a blank query. */
+    public List<Suggestion> suggest(String query, int limit) {
+        String folded = query == null ? "" : TextAnalyzer.fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>(Arrays.asList(folded.split(" ")));
+
+        lock.readLock().lock();
+        try {
+            Postings shortest = null;
+            boolean verify = terms.size() > 1;
+            for (String term : terms) {
+                Postings candidates = postings.get(term.length() > MAX_PREFIX ? term.substring(0, MAX_PREFIX) : term);
+                if (candidates == null) {
+                    return List.of();
+                }
+                if (shortest == null || candidates.size < shortest.size) {
+                    shortest = candidates;
+                }
+                verify |= term.length() > MAX_PREFIX;
+            }
+
+            // The last name in ranking order at the head, so it is evicted first
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit, ranking.reversed());
+            for (int i = 0; i < shortest.size; i++) {
+                int ordinal = shortest.ordinals[i];
+                if (heap.size() == limit && ranking.compare(ordinal, heap.peek()) >= 0) {
+                    continue;
+                }
+                if (verify && !matchesAll(words[ordinal], terms)) {
+                    continue;
+                }
+                if (heap.size() == limit) {
+                    heap.poll();
+                }
+                heap.offer(ordinal);
+            }
+            List<Integer> best = new ArrayList<>(heap);
+            best.sort(ranking);
+            List<Suggestion> suggestions = new ArrayList<>(best.size());
+            for (int ordinal : best) {
+                suggestions.add(new Suggestion(ids[ordinal], names[ordinal], popularity[ordinal]));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matchesAll(String[] nameWords, Set<String> terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : nameWords) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(long id, String name, int score) {
+        String folded = name == null ? "" : TextAnalyzer.fold(name);
+        if (folded.isEmpty()) {
+            return;
+        }
+        int ordinal = allocate(id);
+        ids[ordinal] = id;
+        names[ordinal] = name.trim();
+        words[ordinal] = folded.split(" ");
+        popularity[ordinal] = Math.max(0, score);
+        for (String prefix : prefixes(words[ordinal])) {
+            postings.computeIfAbsent(prefix, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void removeInternal(long id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        for (String prefix : prefixes(words[ordinal])) {
+            Postings list = postings.get(prefix);
+            list.remove(ordinal);
+            if (list.size == 0) {
+                postings.remove(prefix);
+            }
+        }
+        names[ordinal] = null;
+        words[ordinal] = null;
+
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, Math.max(16, freeCount * 2));
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    // A name lists each prefix once even when two of its words share it
+    private static Set<String> prefixes(String[] nameWords) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String word : nameWords) {
+            for (int length = 1; length <= Math.min(MAX_PREFIX, word.length()); length++) {
+                prefixes.add(word.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private int allocate(long id) {
+        int ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+        if (ordinal >= ids.length) {
+            int capacity = Math.max(64, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            words = Arrays.copyOf(words, capacity);
+            popularity = Arrays.copyOf(popularity, capacity);
+        }
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+}
@@ -0,0 +1,474 @@
+package com.islandscholars.search;
+
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.OrganizationProfile;
+import com.islandscholars.model.StudentProfile;
+import com.islandscholars.service.TagDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Matches student skills against internship skill requirements. Skills are
+ * {@link TagDictionary} ids, so aliases and spellings the dictionary merges match one
+ * another, mapped onto bit positions, so every profile and posting is a small
+ * {@code long[]} and a match costs a few AND/popcount instructions. A ranking request
+ * scans all candidates, split into slices that are scored in parallel, each keeping
+ * only its best {@code limit} hits in a bounded heap before the heaps are merged.
+ *
+ * <p>An internship's score is the weighted share of the skills it asks for that the
+ * student has: its own required skills count fully, skills its organization lists as
+ * desired count {@link #DESIRED_WEIGHT}. Bit positions are handed out by descending
+ * frequency on rebuild, so the common skills sit in the first words and most vectors
+ * stay one or two longs long.
+ */
+@Component
+public class SkillMatchIndex {
+
+    private static final double DESIRED_WEIGHT = 0.5;
+
+    // Candidates per parallel slice; smaller tables are scored on the calling thread
+    private static final int SLICE_SIZE = 4096;
+
+    public record Match(Long id, double score, List<String> matchedSkills) {}
+
+    private record Hit(int position, double score, long id) {}
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::id, Comparator.reverseOrder());
+
+    // Shared by all of an organization's internships, so a change to its desired skills is one write
+    private static final class OrganizationSkills {
+        long[] desired = new long[0];
+    }
+
+    private static final class InternshipVector {
+        final Long id;
+        final OrganizationSkills organization;
+        final long[] required;
+        final int requiredCount;
+        final boolean active;
+        final LocalDate applicationDeadline;
+
+        InternshipVector(Long id, OrganizationSkills organization, long[] required, boolean active,
+                         LocalDate applicationDeadline) {
+            this.id = id;
+            this.organization = organization;
+            this.required = required;
+            this.requiredCount = cardinality(required);
+            this.active = active;
+            this.applicationDeadline = applicationDeadline;
+        }
+    }
+
+    private static final class StudentVector {
+        final Long id;
+        final long[] skills;
+
+        StudentVector(Long id, long[] skills) {
+            this.id = id;
+            this.skills = skills;
+        }
+    }
+
+    /** Dense list for scanning plus a position map so updates and removals stay O(1). */
+    private static final class Table<V> {
+        final List<V> rows = new ArrayList<>();
+        final Map<Long, Integer> positions = new HashMap<>();
+
+        void put(Long id, V row) {
+            Integer position = positions.get(id);
+            if (position != null) {
+                rows.set(position, row);
+            } else {
+                positions.put(id, rows.size());
+                rows.add(row);
+            }
+        }
+
+        V get(Long id) {
+            Integer position = positions.get(id);
+            return position == null ? null : rows.get(position);
+        }
+
+        void remove(Long id, Function<V, Long> idOf) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return;
+            }
+            V last = rows.remove(rows.size() - 1);
+            if (position < rows.size()) {
+                rows.set(position, last);
+                positions.put(idOf.apply(last), position);
+            }
+        }
+
+        void clear() {
+            rows.clear();
+            positions.clear();
+        }
+    }
+
+    private final Function<String, Integer> tagIds;
+    private final Function<Integer, String> tagNames;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Tag id to bit position and back
+    private final Map<Integer, Integer> bitPositions = new HashMap<>();
+    private final List<Integer> positionTags = new ArrayList<>();
+    private final Table<InternshipVector> internships = new Table<>();
+    private final Table<StudentVector> students = new Table<>();
+    private final Map<Long, OrganizationSkills> organizations = new HashMap<>();
+
+    @Autowired
+    public SkillMatchIndex(TagDictionary tagDictionary) {
+        this(tagDictionary::idFor, tagDictionary::nameOf);
+    }
+
+    /**
+     * @param tagIds tag id of a skill name, null for a blank one
+     * @param tagNames display name of a tag id, as matched skills are reported
+     */
+    public SkillMatchIndex(Function<String, Integer> tagIds, Function<Integer, String> tagNames) {
+        this.tagIds = tagIds;
+        this.tagNames = tagNames;
+    }
+
+    /** Students are keyed by their user id, organizations by the organization's user id. */
+    public void rebuild(Collection<Internship> allInternships, Collection<StudentProfile> allStudents,
+                        Collection<OrganizationProfile> allOrganizations) {
+        lock.writeLock().lock();
+        try {
+            bitPositions.clear();
+            positionTags.clear();
+            internships.clear();
+            students.clear();
+            organizations.clear();
+
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            allInternships.forEach(internship -> countSkills(frequencies, internship.getSkillsRequired()));
+            allStudents.forEach(student -> countSkills(frequencies, student.getSkills()));
+            allOrganizations.forEach(organization -> countSkills(frequencies, organization.getDesiredSkills()));
+            frequencies.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> bitPosition(entry.getKey()));
+
+            allInternships.forEach(this::putInternship);
+            allStudents.forEach(this::putStudent);
+            allOrganizations.forEach(this::putOrganization);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexInternship(Internship internship) {
+        lock.writeLock().lock();
+        try {
+            putInternship(internship);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeInternship(Long id) {
+        lock.writeLock().lock();
+        try {
+            internships.remove(id, vector -> vector.id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexStudent(StudentProfile student) {
+        lock.writeLock().lock();
+        try {
+            putStudent(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexStudents(Collection<StudentProfile> batch) {
+        lock.writeLock().lock();
+        try {
+            batch.forEach(this::putStudent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexOrganization(OrganizationProfile organization) {
+        lock.writeLock().lock();
+        try {
+            putOrganization(organization);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int studentCount() {
+        lock.readLock().lock();
+        try {
+            return students.rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int internshipCount() {
+        lock.readLock().lock();
+        try {
+            return internships.rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best-matching active internships still open on {@code openOn} for a student,
+     * skipping {@code excluded} (typically those already applied to).
+     */
+    public List<Match> topInternships(Long studentId, LocalDate openOn, Set<Long> excluded, int limit) {
+        lock.readLock().lock();
+        try {
+            StudentVector student = students.get(studentId);
+            if (student == null || limit <= 0) {
+                return List.of();
+            }
+            long[] skills = student.skills;
+            List<InternshipVector> rows = internships.rows;
+            List<Hit> hits = rank(rows.size(), limit, position -> {
+                InternshipVector internship = rows.get(position);
+                if (!internship.active || internship.applicationDeadline == null
+                        || internship.applicationDeadline.isBefore(openOn) || excluded.contains(internship.id)) {
+                    return 0;
+                }
+                return score(skills, internship.required, internship.requiredCount, internship.organization.desired);
+            }, position -> rows.get(position).id);
+
+            List<Match> matches = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                InternshipVector internship = rows.get(hit.position());
+                long[] wanted = or(internship.required, internship.organization.desired);
+                matches.add(new Match(internship.id, hit.score(), decode(and(skills, wanted))));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Students whose skills cover the internship best, whether or not they have applied. */
+    public List<Match> topStudents(Long internshipId, int limit) {
+        lock.readLock().lock();
+        try {
+            InternshipVector internship = internships.get(internshipId);
+            if (internship == null || limit <= 0) {
+                return List.of();
+            }
+            // Fixed for the whole scan: the required skills, the desired ones on top and the denominator
+            long[] required = internship.required;
+            long[] extra = andNot(internship.organization.desired, required);
+            double denominator = internship.requiredCount + DESIRED_WEIGHT * cardinality(extra);
+            List<StudentVector> rows = students.rows;
+            List<Hit> hits = rank(rows.size(), limit, position -> {
+                long[] skills = rows.get(position).skills;
+                int matched = overlap(skills, required);
+                int matchedExtra = overlap(skills, extra);
+                return matched == 0 && matchedExtra == 0 ? 0 : (matched + DESIRED_WEIGHT * matchedExtra) / denominator;
+            }, position -> rows.get(position).id);
+
+            long[] wanted = or(required, extra);
+            List<Match> matches = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                StudentVector student = rows.get(hit.position());
+                matches.add(new Match(student.id, hit.score(), decode(and(student.skills, wanted))));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores positions 0..size-1 and returns the best {@code limit}, best first. Runs
+     * under the caller's read lock; the slice tasks only read the tables.
+     */
+    private static List<Hit> rank(int size, int limit, IntToDoubleFunction scorer, IntFunction<Long> idOf) {
+        int slices = (size + SLICE_SIZE - 1) / SLICE_SIZE;
+        IntStream sliceStream = IntStream.range(0, slices);
+        if (slices > 1) {
+            sliceStream = sliceStream.parallel();
+        }
+        List<PriorityQueue<Hit>> heaps = sliceStream.mapToObj(slice -> {
+            PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, RANKING);
+            int end = Math.min(size, (slice + 1) * SLICE_SIZE);
+            for (int position = slice * SLICE_SIZE; position < end; position++) {
+                double score = scorer.applyAsDouble(position);
+                if (score <= 0) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.offer(new Hit(position, score, idOf.apply(position)));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.offer(new Hit(position, score, idOf.apply(position)));
+                }
+            }
+            return heap;
+        }).toList();
+
+        PriorityQueue<Hit> merged = new PriorityQueue<>(limit + 1, RANKING);
+        for (PriorityQueue<Hit> heap : heaps) {
+            for (Hit hit : heap) {
+                merged.offer(hit);
+                if (merged.size() > limit) {
+                    merged.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(merged);
+        hits.sort(RANKING.reversed());
+        return hits;
+    }
+
+    private static double score(long[] skills, long[] required, int requiredCount, long[] desired) {
+        int matched = overlap(skills, required);
+        int matchedExtra = 0;
+        int extraCount = 0;
+        // Desired skills that are also required already counted in full
+        for (int i = 0; i < desired.length; i++) {
+            long extra = desired[i] & ~(i < required.length ? required[i] : 0L);
+            extraCount += Long.bitCount(extra);
+            if (i < skills.length) {
+                matchedExtra += Long.bitCount(skills[i] & extra);
+            }
+        }
+        if (matched == 0 && matchedExtra == 0) {
+            return 0;
+        }
+        return (matched + DESIRED_WEIGHT * matchedExtra) / (requiredCount + DESIRED_WEIGHT * extraCount);
+    }
+
+    private void putInternship(Internship internship) {
+        Long organizationId = internship.getOrganization() == null ? null : internship.getOrganization().getId();
+        internships.put(internship.getId(), new InternshipVector(internship.getId(), organizationSkills(organizationId),
+                encode(internship.getSkillsRequired()), internship.isActive(), internship.getApplicationDeadline()));
+    }
+
+    private void putStudent(StudentProfile student) {
+        Long id = student.getUser().getId();
+        students.put(id, new StudentVector(id, encode(student.getSkills())));
+    }
+
+    private void putOrganization(OrganizationProfile organization) {
+        organizationSkills(organization.getUser().getId()).desired = encode(organization.getDesiredSkills());
+    }
+
+    private OrganizationSkills organizationSkills(Long organizationId) {
+        return organizations.computeIfAbsent(organizationId, id -> new OrganizationSkills());
+    }
+
+    private long[] encode(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return new long[0];
+        }
+        int[] positions = skills.stream()
+                .map(tagIds)
+                .filter(Objects::nonNull)
+                .mapToInt(this::bitPosition)
+                .toArray();
+        // Sized to the highest position, so vectors of common skills stay short
+        long[] bits = new long[(IntStream.of(positions).max().orElse(-1) >> 6) + 1];
+        for (int position : positions) {
+            bits[position >> 6] |= 1L << position;
+        }
+        return bits;
+    }
+
+    private int bitPosition(Integer tagId) {
+        return bitPositions.computeIfAbsent(tagId, id -> {
+            positionTags.add(id);
+            return positionTags.size() - 1;
+        });
+    }
+
+    private List<String> decode(long[] bits) {
+        List<String> names = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                names.add(tagNames.apply(positionTags.get((word << 6) + Long.numberOfTrailingZeros(remaining))));
+                remaining &= remaining - 1;
+            }
+        }
+        return names;
+    }
+
+    private void countSkills(Map<Integer, Integer> frequencies, Collection<String> skills) {
+        if (skills != null) {
+            skills.stream()
+                    .map(tagIds)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(tagId -> frequencies.merge(tagId, 1, Integer::sum));
+        }
+    }
+
+    private static int overlap(long[] a, long[] b) {
+        int count = 0;
+        int words = Math.min(a.length, b.length);
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static long[] andNot(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & ~(i < b.length ? b[i] : 0L);
+        }
+        return result;
+    }
+
+    private static long[] and(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+
+    private static long[] or(long[] a, long[] b) {
+        long[] result = new long[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (i < a.length ? a[i] : 0L) | (i < b.length ? b[i] : 0L);
+        }
+        return result;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,73 @@
+package com.islandscholars.search;
+
+import com.islandscholars.service.TagDictionary;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free text into lower-cased index terms. Kept deliberately simple:
+ * letters and digits form tokens, a few glue characters used in skill names
+ * ("c++", "c#", "node.js") are preserved, and common English stop words are dropped.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "the", "to", "we", "with", "will", "you", "your");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextAnalyzer() {}
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || (start >= 0 && isGlue(c, lower, i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * A name folded for lookups rather than for full-text terms: normalized like a tag
+     * name, accents dropped and every run of other characters turned into one space, so
+     * "Dar-es-Salaam" and "dar es  salaam", or "Université" and "universite", fold alike.
+     */
+    public static String fold(String name) {
+        String decomposed = Normalizer.normalize(TagDictionary.normalize(name), Normalizer.Form.NFD);
+        return NON_WORD.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim();
+    }
+
+    // '+' and '#' may trail a token; '.' only joins two alphanumeric runs
+    private static boolean isGlue(char c, String text, int i) {
+        if (c == '+' || c == '#') {
+            return true;
+        }
+        return c == '.' && i + 1 < text.length() && Character.isLetterOrDigit(text.charAt(i + 1));
+    }
+
+    private static void addTerm(List<String> terms, String term) {
+        if (!STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.islandscholars.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The application's {@link PasswordEncoder}. Hashing is pure CPU work, so instead of
+ * running on whichever request thread asks, every encode and match runs on a pool
+ * sized to the cores behind a bounded queue. Callers wait for their turn; once the
+ * queue is full a request is refused with {@link PasswordHashingRejectedException}
+ * (answered with 429) rather than tying up request threads that catalog reads need.
+ */
+public class PasswordHashingExecutor implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordEncoder delegate, int threads, int queueCapacity,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"));
+
+        this.queueWait = Timer.builder("security.hashing.queue.wait")
+                .description("Time a hashing task waited for a free hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.hashing.rejected")
+                .description("Hashing requests refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("security.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("security.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Only inspects the stored hash's prefix and parameters, cheap enough for the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes {@code rawPassword} with the current algorithm and cost off the caller's
+     * thread and hands the result to {@code onEncoded}. Used to upgrade stored hashes
+     * after a successful login; silently skipped when the pool is saturated, since the
+     * next login will try again.
+     */
+    public void encodeInBackground(CharSequence rawPassword, Consumer<String> onEncoded) {
+        try {
+            submit(() -> {
+                try {
+                    onEncoded.accept(delegate.encode(rawPassword));
+                } catch (RuntimeException e) {
+                    logger.warn("Background password rehash failed", e);
+                }
+                return null;
+            });
+        } catch (PasswordHashingRejectedException e) {
+            logger.debug("Skipped password rehash, hashing pool is saturated");
+        }
+    }
+
+    /**
+     * Hashes every password, splitting the list into one contiguous slice per thread.
+     * Results are in the same order as the input. Meant for background bulk work: a
+     * slice the queue cannot take is hashed on the calling thread instead of failing.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int slices = Math.min(threads, rawPasswords.size());
+        if (slices <= 1) {
+            return rawPasswords.stream().map(delegate::encode).toList();
+        }
+
+        int sliceSize = (rawPasswords.size() + slices - 1) / slices;
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+            List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+            try {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> slice.stream().map(delegate::encode).toList(), executor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(slice.stream().map(delegate::encode).toList()));
+            }
+        }
+
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        futures.forEach(future -> hashes.addAll(future.join()));
+        return hashes;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.islandscholars.security;
+
+/**
+ * Thrown when the password hashing queue is full. Controllers answer it with
+ * 429 Too Many Requests so clients back off instead of piling up.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException() {
+        super("Too many sign-in or sign-up requests right now, please retry shortly");
+    }
+}
@@ -1,22 +1,96 @@
 package com.islandscholars.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.islandscholars.security.jwt.AuthEntryPointJwt;
+import com.islandscholars.security.jwt.AuthTokenFilter;
+import com.islandscholars.security.services.LoginAuthenticationProvider;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
+@EnableMethodSecurity
 public class SecurityConfig {
 
+    private final AuthEntryPointJwt unauthorizedHandler;
+    private final AuthTokenFilter authTokenFilter;
+
+    public SecurityConfig(AuthEntryPointJwt unauthorizedHandler, AuthTokenFilter authTokenFilter) {
+        this.unauthorizedHandler = unauthorizedHandler;
+        this.authTokenFilter = authTokenFilter;
+    }
+
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
-        return authConfig.getAuthenticationManager();
+    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
+                .authorizeHttpRequests(auth -> auth
+                        // Event streams complete on async dispatches that were authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/auth/**", "/error").permitAll()
+                        // Metrics expose per-endpoint latencies and pool saturation, so only health is public
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/internships/**", "/events/**",
+                                "/universities/**", "/organizations/**").permitAll()
+                        .anyRequest().authenticated())
+                .addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
     }
 
+    // Sign-in goes through a single provider that needs one user query per login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(LoginAuthenticationProvider loginAuthenticationProvider) {
+        return new ProviderManager(loginAuthenticationProvider);
+    }
+
+    /**
+     * New hashes use security.password.algorithm at its configured cost; hashes in any
+     * supported format still verify (unprefixed ones are legacy BCrypt), and
+     * LoginAuthenticationProvider rehashes them on the next successful login whenever
+     * the algorithm or cost has changed. All hashing runs on the bounded pool.
+     */
+    @Bean
+    public PasswordHashingExecutor passwordEncoder(MeterRegistry meterRegistry,
+                                                   @Value("${security.password.algorithm:bcrypt}") String algorithm,
+                                                   @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                                                   @Value("${security.hashing.threads:0}") int threads,
+                                                   @Value("${security.hashing.queue-capacity:64}") int queueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported security.password.algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new PasswordHashingExecutor(new TimedPasswordEncoder(delegating, meterRegistry),
+                threads, queueCapacity, meterRegistry);
     }
 }
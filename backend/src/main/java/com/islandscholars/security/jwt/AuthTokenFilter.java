@@ -0,0 +1,73 @@
+package com.islandscholars.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.islandscholars.model.Role;
+import com.islandscholars.security.services.UserDetailsImpl;
+
+import java.io.IOException;
+
+/**
+ * Populates the security context from a Bearer token. The principal is
+ * rebuilt from the signed claims alone, so no user lookup happens per request.
+ * Event streams may instead pass a short-lived stream token in the URL; a login
+ * token is never read from the URL and a stream token never from the header.
+ */
+@Component
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACCESS_TOKEN_PARAM = "access_token";
+
+    private final JwtUtils jwtUtils;
+
+    public AuthTokenFilter(JwtUtils jwtUtils) {
+        this.jwtUtils = jwtUtils;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Claims claims = parseClaims(request);
+        if (claims != null) {
+            UserDetailsImpl userDetails = UserDetailsImpl.fromClaims(
+                    claims.get(JwtUtils.CLAIM_ID, Long.class),
+                    claims.getSubject(),
+                    Role.valueOf(claims.get(JwtUtils.CLAIM_ROLE, String.class)));
+
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Claims parseClaims(HttpServletRequest request) {
+        String headerAuth = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (headerAuth != null && headerAuth.startsWith(BEARER_PREFIX)) {
+            Claims claims = jwtUtils.parseClaims(headerAuth.substring(BEARER_PREFIX.length()));
+            return claims != null && !jwtUtils.isStreamToken(claims) ? claims : null;
+        }
+        // EventSource cannot set headers, so event streams pass a stream token as a query parameter
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String token = request.getParameter(ACCESS_TOKEN_PARAM);
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE) && token != null) {
+            Claims claims = jwtUtils.parseClaims(token);
+            return claims != null && jwtUtils.isStreamToken(claims) ? claims : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.islandscholars.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.islandscholars.security.services.UserDetailsImpl;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+
+@Component
+public class JwtUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SCOPE = "scope";
+    public static final String SCOPE_STREAM = "stream";
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    @Value("${jwt.stream-expiration:60000}")
+    private long streamExpirationMs;
+
+    // Built once at startup; both the key and the parser are thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(keyBytes(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        return token(userPrincipal, jwtExpirationMs).compact();
+    }
+
+    /**
+     * Issues a token that only opens event streams. It travels in the stream URL, where
+     * proxies and access logs may record it, so it expires within a minute and is never
+     * accepted in place of the login token.
+     */
+    public String generateStreamToken(UserDetailsImpl userPrincipal) {
+        return token(userPrincipal, streamExpirationMs).claim(CLAIM_SCOPE, SCOPE_STREAM).compact();
+    }
+
+    public boolean isStreamToken(Claims claims) {
+        return SCOPE_STREAM.equals(claims.get(CLAIM_SCOPE, String.class));
+    }
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims,
+     * or {@code null} when the token cannot be trusted.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            logger.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    public long getStreamExpirationMs() {
+        return streamExpirationMs;
+    }
+
+    private JwtBuilder token(UserDetailsImpl userPrincipal, long expirationMs) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLE, roleOf(userPrincipal))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expirationMs))
+                .signWith(signingKey);
+    }
+
+    private static String roleOf(UserDetailsImpl userPrincipal) {
+        return userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("User has no role"));
+    }
+
+    // HS256 needs at least 256 bits of key material; short secrets are stretched with SHA-256
+    private static byte[] keyBytes(String secret) {
+        byte[] raw = secret.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= 32) {
+            return raw;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(raw);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.islandscholars.security.services;
+
+import com.islandscholars.model.User;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.security.PasswordHashingExecutor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Authenticates a username-or-email login against a single user row. The login is
+ * matched against both unique columns in one indexed query, so every sign-in, known
+ * or not, costs one query. The loaded {@link User} is returned as the
+ * authentication's details, so callers need not load it again. Hashes stored with an
+ * outdated algorithm or cost are upgraded after a successful match.
+ */
+@Component
+public class LoginAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String BAD_CREDENTIALS = "Invalid username/email or password";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    // Compared against when the login is unknown, so misses cost as much as wrong passwords
+    private volatile String unknownUserHash;
+
+    public LoginAuthenticationProvider(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String login = authentication.getName();
+        String password = authentication.getCredentials() == null ? "" : authentication.getCredentials().toString();
+
+        Optional<User> found = findByLogin(login);
+        if (found.isEmpty()) {
+            passwordEncoder.matches(password, unknownUserHash());
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+
+        User user = found.get();
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        if (!user.isActive()) {
+            throw new DisabledException("User account is deactivated");
+        }
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            upgradeHash(user, password);
+        }
+
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        UsernamePasswordAuthenticationToken result =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        result.setDetails(user);
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private Optional<User> findByLogin(String login) {
+        if (login == null || login.isBlank()) {
+            return Optional.empty();
+        }
+        List<User> users = userRepository.findByUsernameOrEmail(login);
+        if (users.size() <= 1) {
+            return users.stream().findFirst();
+        }
+        // A username equal to another user's email: the column the login looks like wins
+        boolean email = login.indexOf('@') >= 0;
+        return users.stream()
+                .filter(user -> login.equals(email ? user.getEmail() : user.getUsername()))
+                .findFirst();
+    }
+
+    // Re-encodes with the current algorithm and cost while the raw password is at hand
+    private void upgradeHash(User user, String rawPassword) {
+        Long id = user.getId();
+        String oldHash = user.getPassword();
+        Consumer<String> store = newHash -> userRepository.updatePasswordHash(id, oldHash, newHash);
+        if (passwordEncoder instanceof PasswordHashingExecutor pool) {
+            pool.encodeInBackground(rawPassword, store);
+        } else {
+            store.accept(passwordEncoder.encode(rawPassword));
+        }
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("unknown-user-placeholder");
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+}
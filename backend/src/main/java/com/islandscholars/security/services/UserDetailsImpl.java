@@ -1,5 +1,6 @@
 package com.islandscholars.security.services;
 
+import com.islandscholars.model.Role;
 import com.islandscholars.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.security.core.GrantedAuthority;
@@ -30,14 +31,21 @@ public class UserDetailsImpl implements UserDetails {
     }
 
     public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
-
         return new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authoritiesFor(user.getRole()));
+    }
+
+    // Principal for a token-authenticated request; carries no email or password
+    public static UserDetailsImpl fromClaims(Long id, String username, Role role) {
+        return new UserDetailsImpl(id, username, null, null, authoritiesFor(role));
+    }
+
+    private static List<GrantedAuthority> authoritiesFor(Role role) {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
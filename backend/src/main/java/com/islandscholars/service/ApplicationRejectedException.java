@@ -0,0 +1,27 @@
+package com.islandscholars.service;
+
+/**
+ * Thrown when a submission cannot take a place on an internship. The reason tells
+ * controllers which status to answer with; a duplicate submit is reported the same
+ * way every time, so clients can safely retry a submission they are unsure about.
+ */
+public class ApplicationRejectedException extends RuntimeException {
+
+    public enum Reason {
+        INTERNSHIP_NOT_FOUND,
+        CLOSED,
+        FULL,
+        DUPLICATE
+    }
+
+    private final Reason reason;
+
+    public ApplicationRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
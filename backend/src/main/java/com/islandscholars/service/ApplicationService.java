@@ -1,32 +1,77 @@
 package com.islandscholars.service;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.dto.application.ApplicationChange;
+import com.islandscholars.dto.application.BulkStatusUpdateResponse;
+import com.islandscholars.dto.application.BulkStatusUpdateResult;
+import com.islandscholars.dto.application.BulkStatusUpdateResult.Outcome;
 import com.islandscholars.model.Application;
 import com.islandscholars.model.ApplicationStatus;
+import com.islandscholars.model.Internship;
 import com.islandscholars.model.User;
 import com.islandscholars.repository.ApplicationRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.service.ApplicationRejectedException.Reason;
 
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class ApplicationService {
 
+    // Keeps each IN list well below driver bind-parameter limits
+    private static final int BULK_BATCH_SIZE = 500;
+
+    static final String APPLICATION_CREATED = "application-created";
+    static final String APPLICATION_STATUS_CHANGED = "application-status-changed";
+
+    private static final Set<ApplicationStatus> WITHDRAWABLE =
+            EnumSet.of(ApplicationStatus.PENDING, ApplicationStatus.UNDER_REVIEW);
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
-    private static final String FRONTEND_NOTIFICATION_URL = "http://localhost:3000/new-application";
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private ApplicationStatsService applicationStatsService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public List<Application> getApplicationsByStudent(User student) {
         return applicationRepository.findByStudent(student);
@@ -40,62 +85,150 @@ public class ApplicationService {
         return applicationRepository.findById(id);
     }
 
+    /**
+     * Submits an application, enforcing {@link Internship#getMaxApplicants()}
+     * without check-then-act races. The row is inserted with ON CONFLICT DO NOTHING, so a
+     * duplicate submit is refused without an error from the unique constraint, and a
+     * place is then taken with a conditional increment of the internship's applicant
+     * count. That increment is the last statement, keeping the internship row locked
+     * only for the commit; if no place is left the whole transaction rolls back.
+     *
+     * @throws ApplicationRejectedException if the internship is unknown, closed or full,
+     *         or the student has already applied
+     */
+    @Transactional
     public Application createApplication(Application application) {
-        // Check if the student already applied to this internship
-        Optional<Application> existing = applicationRepository
-                .findByStudentAndInternship(application.getStudent(), application.getInternship());
+        Long internshipId = application.getInternship() == null ? null : application.getInternship().getId();
+        LocalDate today = LocalDate.now();
 
-        if (existing.isPresent()) {
-            throw new RuntimeException("You have already applied for this internship");
+        // Fails fast, without taking the row lock, for anything that is not open at all
+        Internship internship = Optional.ofNullable(internshipId)
+                .flatMap(internshipRepository::findById)
+                .orElseThrow(() -> new ApplicationRejectedException(Reason.INTERNSHIP_NOT_FOUND, "Internship not found"));
+        if (!internship.isActive()) {
+            throw new ApplicationRejectedException(Reason.CLOSED, "Internship is no longer accepting applications");
         }
-
-        // Check if application deadline has passed
-        if (application.getInternship().getApplicationDeadline().isBefore(LocalDate.now())) {
-            throw new RuntimeException("Application deadline has passed");
+        if (internship.getApplicationDeadline().isBefore(today)) {
+            throw new ApplicationRejectedException(Reason.CLOSED, "Application deadline has passed");
         }
 
-        // Notify frontend of new application
-        notifyFrontendOfNewApplication();
-
-        return applicationRepository.save(application);
-    }
-
-    private void notifyFrontendOfNewApplication() {
-        OkHttpClient client = new OkHttpClient();
-
-        MediaType mediaType = MediaType.parse("application/json");
-        RequestBody body = RequestBody.create(mediaType, "{}");
+        application.setInternship(internship);
+        if (!applicationRepository.insertIfAbsent(application)) {
+            throw new ApplicationRejectedException(Reason.DUPLICATE, "You have already applied for this internship");
+        }
 
-        Request request = new Request.Builder()
-                .url(FRONTEND_NOTIFICATION_URL)
-                .post(body)
-                .build();
+        // Delivered by NotificationDispatcher once this transaction commits
+        notificationOutboxService.enqueueApplicationCreated(application);
 
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() != null) {
-                System.out.println("Frontend notification response: " + response.body().string());
-            } else {
-                System.out.println("Frontend notification sent with empty response");
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (internshipRepository.reserveApplicantSlot(internshipId, today, LocalDateTime.now()) == 0) {
+            throw new ApplicationRejectedException(Reason.FULL, "This internship has no places left");
         }
+        applicantCountChanged(internshipId);
+        applicationStatsService.apply(new ApplicationStatsService.Changes()
+                .move(internship.getOrganization().getId(), internshipId, null, ApplicationStatus.PENDING, 1));
+        publishChange(APPLICATION_CREATED, application);
+        return application;
     }
 
+    @Transactional
     public Application updateApplicationStatus(Long id, ApplicationStatus status, String reviewerNotes) {
         Application application = applicationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        application.setStatus(status);
-        application.setReviewerNotes(reviewerNotes);
+        ApplicationStatus previous = application.getStatus();
+        if (status == ApplicationStatus.WITHDRAWN) {
+            throw new IllegalArgumentException("Only the student can withdraw an application");
+        }
+        if (!status.reviewSources().contains(previous)) {
+            throw new IllegalArgumentException("Cannot move an application from " + previous + " to " + status);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reviewedAt = status == ApplicationStatus.ACCEPTED || status == ApplicationStatus.REJECTED
+                ? now : null;
+        if (applicationRepository.updateStatus(id, previous, status, reviewerNotes, reviewedAt, now) == 0) {
+            throw new RuntimeException("Application was changed concurrently, please retry");
+        }
+        applicationStatsService.apply(new ApplicationStatsService.Changes().move(
+                application.getInternship().getOrganization().getId(), application.getInternship().getId(),
+                previous, status, 1));
+
+        entityManager.refresh(application);
+        publishChange(APPLICATION_STATUS_CHANGED, application);
+        return application;
+    }
+
+    /**
+     * Moves many applications to {@code status} on behalf of one organization.
+     * Each batch costs one ownership/status lookup and one set-based UPDATE per source
+     * status, plus a read-back only when a concurrent change made the row count fall
+     * short. Updating each source status separately tells exactly which status every
+     * updated row left, which the application statistics need.
+     * Per-item outcomes are reported in request order.
+     */
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(Long organizationId, List<Long> applicationIds,
+                                                     ApplicationStatus status, String reviewerNotes) {
+        Set<ApplicationStatus> fromStatuses = status.reviewSources();
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(applicationIds));
+        ids.removeIf(id -> id == null);
+
+        // Truncated so the read-back compares equal regardless of column precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime reviewedAt = status == ApplicationStatus.ACCEPTED || status == ApplicationStatus.REJECTED
+                ? now : null;
+
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        Map<Long, ApplicationRepository.ReviewTarget> targets = new HashMap<>();
+        ApplicationStatsService.Changes statChanges = new ApplicationStatsService.Changes();
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size()));
 
-        if (status == ApplicationStatus.ACCEPTED || status == ApplicationStatus.REJECTED) {
-            application.setReviewedAt(LocalDateTime.now());
+            Map<ApplicationStatus, List<Long>> eligibleBySource = new EnumMap<>(ApplicationStatus.class);
+            for (ApplicationRepository.ReviewTarget target : applicationRepository.findReviewTargets(batch)) {
+                if (!organizationId.equals(target.getOrganizationId())) {
+                    outcomes.put(target.getId(), Outcome.FORBIDDEN);
+                } else if (!fromStatuses.contains(target.getStatus())) {
+                    outcomes.put(target.getId(), Outcome.INVALID_TRANSITION);
+                } else {
+                    eligibleBySource.computeIfAbsent(target.getStatus(), source -> new ArrayList<>()).add(target.getId());
+                    targets.put(target.getId(), target);
+                }
+            }
+
+            for (Map.Entry<ApplicationStatus, List<Long>> group : eligibleBySource.entrySet()) {
+                List<Long> eligible = group.getValue();
+                int updated = applicationRepository.bulkUpdateStatus(eligible, EnumSet.of(group.getKey()), status,
+                        reviewerNotes, reviewedAt, now, organizationId);
+
+                Set<Long> applied = updated == eligible.size()
+                        ? new HashSet<>(eligible)
+                        : new HashSet<>(applicationRepository.findIdsUpdatedAt(eligible, status, now));
+                for (Long id : eligible) {
+                    if (applied.contains(id)) {
+                        outcomes.put(id, Outcome.UPDATED);
+                        statChanges.move(organizationId, targets.get(id).getInternshipId(), group.getKey(), status, 1);
+                    } else {
+                        outcomes.put(id, Outcome.CONFLICT);
+                    }
+                }
+            }
         }
+        applicationStatsService.apply(statChanges);
 
-        return applicationRepository.save(application);
+        List<BulkStatusUpdateResult> results = new ArrayList<>(ids.size());
+        List<Long> updatedIds = new ArrayList<>();
+        for (Long id : ids) {
+            Outcome outcome = outcomes.getOrDefault(id, Outcome.NOT_FOUND);
+            results.add(new BulkStatusUpdateResult(id, outcome));
+            if (outcome == Outcome.UPDATED) {
+                updatedIds.add(id);
+            }
+        }
+        publishBulkChange(organizationId, updatedIds, targets, status, now);
+        return new BulkStatusUpdateResponse(results);
     }
 
+    @Transactional
     public Application withdrawApplication(Long id, User student) {
         Application application = applicationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
@@ -104,16 +237,74 @@ public class ApplicationService {
             throw new RuntimeException("You can only withdraw your own applications");
         }
 
-        if (application.getStatus() != ApplicationStatus.PENDING &&
-                application.getStatus() != ApplicationStatus.UNDER_REVIEW) {
+        // Conditional on the status read here, so the statistics move from the right one
+        ApplicationStatus previous = application.getStatus();
+        if (!WITHDRAWABLE.contains(previous)
+                || applicationRepository.withdraw(id, EnumSet.of(previous), LocalDateTime.now()) == 0) {
             throw new RuntimeException("Cannot withdraw application with current status");
         }
+        Internship internship = application.getInternship();
+        internshipRepository.releaseApplicantSlot(internship.getId(), LocalDateTime.now());
+        applicantCountChanged(internship.getId());
+        applicationStatsService.apply(new ApplicationStatsService.Changes().move(
+                internship.getOrganization().getId(), internship.getId(), previous, ApplicationStatus.WITHDRAWN, 1));
 
-        application.setStatus(ApplicationStatus.WITHDRAWN);
-        return applicationRepository.save(application);
+        entityManager.refresh(application);
+        publishChange(APPLICATION_STATUS_CHANGED, application);
+        return application;
     }
 
+    @Transactional
     public void deleteApplication(Long id) {
-        applicationRepository.deleteById(id);
+        applicationRepository.findById(id).ifPresent(application -> {
+            ApplicationStatus previous = application.getStatus();
+            if (applicationRepository.deleteInStatus(id, previous) == 0) {
+                throw new RuntimeException("Application was changed concurrently, please retry");
+            }
+            Internship internship = application.getInternship();
+            // A withdrawn application already gave its place back
+            if (previous != ApplicationStatus.WITHDRAWN) {
+                internshipRepository.releaseApplicantSlot(internship.getId(), LocalDateTime.now());
+                applicantCountChanged(internship.getId());
+            }
+            applicationStatsService.apply(new ApplicationStatsService.Changes().move(
+                    internship.getOrganization().getId(), internship.getId(), previous, null, 1));
+        });
+    }
+
+    // The cached internship carries applicantCount, so it goes once the count has committed
+    private void applicantCountChanged(Long internshipId) {
+        resourceVersionService.changed(ResourceVersionService.Catalog.INTERNSHIPS);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheManager.getCache(CacheConfig.INTERNSHIP_BY_ID).evict(internshipId);
+            }
+        });
+    }
+
+    // Held back by DashboardStreamService until the surrounding transaction commits
+    private void publishChange(String eventName, Application application) {
+        Internship internship = application.getInternship();
+        ApplicationChange change = new ApplicationChange(List.of(application.getId()), internship.getId(),
+                application.getStatus(), application.getUpdatedAt());
+        dashboardStreamService.publish(internship.getOrganization().getId(), eventName, change);
+        dashboardStreamService.publish(application.getStudent().getId(), eventName, change);
+    }
+
+    // One event for the organization covering the whole request, one per student
+    private void publishBulkChange(Long organizationId, List<Long> updatedIds,
+                                   Map<Long, ApplicationRepository.ReviewTarget> targets,
+                                   ApplicationStatus status, LocalDateTime occurredAt) {
+        if (updatedIds.isEmpty()) {
+            return;
+        }
+        dashboardStreamService.publish(organizationId, APPLICATION_STATUS_CHANGED,
+                new ApplicationChange(updatedIds, null, status, occurredAt));
+        for (Long id : updatedIds) {
+            ApplicationRepository.ReviewTarget target = targets.get(id);
+            dashboardStreamService.publish(target.getStudentId(), APPLICATION_STATUS_CHANGED,
+                    new ApplicationChange(List.of(id), target.getInternshipId(), status, occurredAt));
+        }
     }
 }
@@ -0,0 +1,177 @@
+package com.islandscholars.service;
+
+import com.islandscholars.model.ApplicationStat;
+import com.islandscholars.repository.ApplicationRepository;
+import com.islandscholars.repository.ApplicationStatRepository;
+import com.islandscholars.repository.InternshipRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds and verifies {@code application_stats} against the applications themselves.
+ * The first run after the table is introduced fills it; later runs repair drift from
+ * rows changed outside the application. Internships are walked in id order, one chunk
+ * per transaction: the chunk's stat rows are locked before the applications are
+ * counted, so a writer either committed before the count (and is included) or waits
+ * and applies its delta on top of the corrected value.
+ *
+ * <p>A pass over a large catalog runs for minutes, so it has its own thread instead of
+ * the shared scheduler that delivers the outbox and the dashboard heartbeats.
+ */
+@Component
+public class ApplicationStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationStatsReconciler.class);
+
+    private final InternshipRepository internshipRepository;
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationStatRepository applicationStatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long initialDelayMs;
+    private final long intervalMs;
+    private final ScheduledExecutorService executor;
+    private final Counter corrected;
+
+    public ApplicationStatsReconciler(InternshipRepository internshipRepository,
+                                      ApplicationRepository applicationRepository,
+                                      ApplicationStatRepository applicationStatRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${applications.stats.verify.chunk-size:500}") int chunkSize,
+                                      @Value("${applications.stats.verify.initial-delay-ms:10000}") long initialDelayMs,
+                                      @Value("${applications.stats.verify.interval-ms:21600000}") long intervalMs) {
+        this.internshipRepository = internshipRepository;
+        this.applicationRepository = applicationRepository;
+        this.applicationStatRepository = applicationStatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.initialDelayMs = initialDelayMs;
+        this.intervalMs = intervalMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("stats-verify-"));
+        this.corrected = Counter.builder("applications.stats.corrected")
+                .description("Application statistics rows repaired by verification")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(() -> {
+            // A failed pass must not cancel the ones after it
+            try {
+                verify();
+            } catch (RuntimeException e) {
+                logger.error("Application statistics verification failed", e);
+            }
+        }, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void verify() {
+        long started = System.currentTimeMillis();
+        int internships = 0;
+        int fixed = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<InternshipRepository.InternshipOwner> chunk =
+                    internshipRepository.findOwnersAfter(afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Integer chunkFixed = transactionTemplate.execute(status -> verifyChunk(chunk));
+            fixed += chunkFixed == null ? 0 : chunkFixed;
+            internships += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        Integer orphans = transactionTemplate.execute(status -> applicationStatRepository.deleteOrphans());
+        corrected.increment(fixed);
+
+        if (fixed > 0 || (orphans != null && orphans > 0)) {
+            logger.info("Verified application statistics of {} internships in {} ms: {} rows corrected, {} removed",
+                    internships, System.currentTimeMillis() - started, fixed, orphans);
+        }
+    }
+
+    private int verifyChunk(List<InternshipRepository.InternshipOwner> chunk) {
+        Map<Long, Long> owners = new HashMap<>();
+        chunk.forEach(owner -> owners.put(owner.getId(), owner.getOrganizationId()));
+
+        Map<ApplicationStat.Key, Long> stored = new HashMap<>();
+        for (ApplicationStat stat : applicationStatRepository.lockByInternships(owners.keySet())) {
+            stored.put(new ApplicationStat.Key(stat.getInternshipId(), stat.getStatus()), stat.getApplicationCount());
+        }
+        Map<ApplicationStat.Key, Long> actual = new HashMap<>();
+        for (ApplicationRepository.InternshipStatusCount count
+                : applicationRepository.countByInternshipAndStatus(owners.keySet())) {
+            actual.put(new ApplicationStat.Key(count.getInternshipId(), count.getStatus()), count.getApplicationCount());
+        }
+
+        int fixed = 0;
+        List<ApplicationStat.Key> raced = new ArrayList<>();
+        for (ApplicationStat.Key key : stored.keySet()) {
+            long expected = actual.getOrDefault(key, 0L);
+            if (stored.get(key) != expected) {
+                applicationStatRepository.setCount(key.getInternshipId(), key.getStatus(), expected);
+                fixed++;
+            }
+        }
+        for (Map.Entry<ApplicationStat.Key, Long> entry : actual.entrySet()) {
+            ApplicationStat.Key key = entry.getKey();
+            if (stored.containsKey(key)) {
+                continue;
+            }
+            if (applicationStatRepository.insertIfAbsent(key.getInternshipId(), key.getStatus().name(),
+                    owners.get(key.getInternshipId()), entry.getValue()) == 1) {
+                fixed++;
+            } else {
+                raced.add(key);
+            }
+        }
+
+        // A writer created one of the missing rows while this chunk was counted; its
+        // transaction has committed now, so a recount under the row lock is exact
+        if (!raced.isEmpty()) {
+            List<Long> internshipIds = raced.stream().map(ApplicationStat.Key::getInternshipId).distinct().toList();
+            Map<ApplicationStat.Key, Long> relocked = new HashMap<>();
+            for (ApplicationStat stat : applicationStatRepository.lockByInternships(internshipIds)) {
+                relocked.put(new ApplicationStat.Key(stat.getInternshipId(), stat.getStatus()), stat.getApplicationCount());
+            }
+            Map<ApplicationStat.Key, Long> recounted = new HashMap<>();
+            for (ApplicationRepository.InternshipStatusCount count
+                    : applicationRepository.countByInternshipAndStatus(internshipIds)) {
+                recounted.put(new ApplicationStat.Key(count.getInternshipId(), count.getStatus()),
+                        count.getApplicationCount());
+            }
+            for (ApplicationStat.Key key : raced) {
+                long expected = recounted.getOrDefault(key, 0L);
+                if (relocked.getOrDefault(key, 0L) != expected) {
+                    applicationStatRepository.setCount(key.getInternshipId(), key.getStatus(), expected);
+                    fixed++;
+                }
+            }
+        }
+        return fixed;
+    }
+}
@@ -0,0 +1,85 @@
+package com.islandscholars.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.islandscholars.dto.application.InternshipApplicationStats;
+import com.islandscholars.model.ApplicationStatus;
+import com.islandscholars.repository.ApplicationStatRepository;
+
+/**
+ * Maintains the per-internship status counts in {@code application_stats}. Callers
+ * collect the moves of one transaction in a {@link Changes} and apply them together;
+ * rows are updated in (internship, status) order, the order
+ * {@link ApplicationStatsReconciler} locks them in, so concurrent writers and the
+ * reconciler queue up instead of deadlocking.
+ */
+@Service
+public class ApplicationStatsService {
+
+    @Autowired
+    private ApplicationStatRepository applicationStatRepository;
+
+    public List<InternshipApplicationStats> getOrganizationStats(Long organizationId) {
+        Map<Long, InternshipApplicationStats> byInternship = new LinkedHashMap<>();
+        for (ApplicationStatRepository.InternshipStatusCount row : applicationStatRepository.findByOrganization(organizationId)) {
+            byInternship.computeIfAbsent(row.getInternshipId(),
+                            id -> new InternshipApplicationStats(id, row.getInternshipTitle()))
+                    .add(row.getStatus(), row.getApplicationCount());
+        }
+        return new ArrayList<>(byInternship.values());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Changes changes) {
+        for (Map.Entry<Changes.Key, Long> entry : changes.deltas.entrySet()) {
+            Changes.Key key = entry.getKey();
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            if (applicationStatRepository.increment(key.internshipId(), key.status(), delta) == 0
+                    && applicationStatRepository.insertIfAbsent(key.internshipId(), key.status().name(),
+                            key.organizationId(), delta) == 0) {
+                // Another transaction created the row in the meantime
+                applicationStatRepository.increment(key.internshipId(), key.status(), delta);
+            }
+        }
+    }
+
+    /** Status moves made by one transaction, netted per (internship, status). */
+    public static class Changes {
+
+        private record Key(Long internshipId, ApplicationStatus status, Long organizationId) {}
+
+        // Status names, not ordinals: the reconciler's ORDER BY sees the stored strings
+        private static final Comparator<Key> LOCK_ORDER = Comparator.comparing(Key::internshipId)
+                .thenComparing(key -> key.status().name());
+
+        private final Map<Key, Long> deltas = new TreeMap<>(LOCK_ORDER);
+
+        /** Records {@code count} applications moving between statuses; {@code null} means created or deleted. */
+        public Changes move(Long organizationId, Long internshipId,
+                            ApplicationStatus from, ApplicationStatus to, long count) {
+            if (from == to) {
+                return this;
+            }
+            if (from != null) {
+                deltas.merge(new Key(internshipId, from, organizationId), -count, Long::sum);
+            }
+            if (to != null) {
+                deltas.merge(new Key(internshipId, to, organizationId), count, Long::sum);
+            }
+            return this;
+        }
+    }
+}
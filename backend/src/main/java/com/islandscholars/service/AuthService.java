@@ -7,8 +7,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.islandscholars.dto.auth.JwtResponse;
 import com.islandscholars.dto.auth.LoginRequest;
 import com.islandscholars.dto.auth.SignupRequest;
 import com.islandscholars.model.Industry;
@@ -17,11 +20,13 @@ import com.islandscholars.model.Role;
 import com.islandscholars.model.StudentProfile;
 import com.islandscholars.model.University;
 import com.islandscholars.model.User;
-import com.islandscholars.repository.OrganizationProfileRepository;
 import com.islandscholars.repository.StudentProfileRepository;
 import com.islandscholars.repository.UniversityRepository;
 import com.islandscholars.repository.UserRepository;
+import com.islandscholars.search.SkillMatchIndex;
+import com.islandscholars.security.jwt.JwtUtils;
 import com.islandscholars.security.services.UserDetailsImpl;
+import com.islandscholars.util.AfterCommit;
 
 @Service
 public class AuthService {
@@ -36,33 +41,49 @@ public class AuthService {
     StudentProfileRepository studentProfileRepository;
 
     @Autowired
-    OrganizationProfileRepository organizationProfileRepository;
+    UniversityRepository universityRepository;
 
     @Autowired
-    UniversityRepository universityRepository;
+    OrganizationService organizationService;
+
+    @Autowired
+    UniversityService universityService;
 
     @Autowired
     PasswordEncoder encoder;
 
-    // Authenticate user by username/email and password, return user details only
-    public UserDetailsImpl authenticateUser(LoginRequest loginRequest) {
-        User user = userRepository.findByUsername(loginRequest.getUsernameOrEmail())
-                .orElse(userRepository.findByEmail(loginRequest.getUsernameOrEmail())
-                        .orElseThrow(() -> new RuntimeException("User not found with username or email: " + loginRequest.getUsernameOrEmail())));
+    @Autowired
+    SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    TypeaheadService typeaheadService;
 
-        if (!user.isActive()) {
-            throw new RuntimeException("User account is deactivated");
-        }
+    @Autowired
+    JwtUtils jwtUtils;
 
+    @Autowired
+    TagDictionary tagDictionary;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // Authenticate user by username/email and password, return a signed access token
+    public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(user.getUsername(), loginRequest.getPassword()));
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsernameOrEmail(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        return (UserDetailsImpl) authentication.getPrincipal();
+        // LoginAuthenticationProvider hands back the user row it authenticated against
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        User user = (User) authentication.getDetails();
+        String token = jwtUtils.generateJwtToken(userDetails);
+
+        return new JwtResponse(token, jwtUtils.getExpirationMs(), user.getId(), user.getUsername(),
+                user.getEmail(), user.getFirstName(), user.getLastName(), user.getRole());
     }
 
-    @Transactional
+    // Not @Transactional: the password is hashed and new tags registered before the transaction opens
     public String registerUser(SignupRequest signUpRequest) {
         if (signUpRequest.getUsername() == null || signUpRequest.getUsername().trim().isEmpty()) {
             throw new RuntimeException("Username is required!");
@@ -99,20 +120,28 @@ public class AuthService {
         user.setLocation(signUpRequest.getLocation());
         user.setBio(signUpRequest.getBio());
 
-        user = userRepository.save(user);
-
         switch (signUpRequest.getRole()) {
-            case STUDENT:
-                createStudentProfile(user, signUpRequest);
-                break;
-            case ORGANIZATION:
-                createOrganizationProfile(user, signUpRequest);
-                break;
-            case UNIVERSITY:
-                createUniversityProfile(user, signUpRequest);
-                break;
+            case STUDENT -> tagDictionary.registerAll(signUpRequest.getSkills());
+            case ORGANIZATION -> tagDictionary.registerAll(signUpRequest.getDesiredSkills());
+            case UNIVERSITY -> tagDictionary.registerAll(signUpRequest.getPrograms());
+            default -> { }
         }
 
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User saved = userRepository.save(user);
+            switch (signUpRequest.getRole()) {
+                case STUDENT:
+                    createStudentProfile(saved, signUpRequest);
+                    break;
+                case ORGANIZATION:
+                    createOrganizationProfile(saved, signUpRequest);
+                    break;
+                case UNIVERSITY:
+                    createUniversityProfile(saved, signUpRequest);
+                    break;
+            }
+        });
+
         return "User registered successfully!";
     }
 
@@ -131,6 +160,11 @@ public class AuthService {
         }
 
         studentProfileRepository.save(studentProfile);
+        AfterCommit.run(() -> skillMatchIndex.indexStudent(studentProfile));
+        if (studentProfile.getUniversity() != null) {
+            Long universityId = studentProfile.getUniversity().getId();
+            AfterCommit.run(() -> typeaheadService.studentsJoined(universityId, 1));
+        }
     }
 
     private void createOrganizationProfile(User user, SignupRequest signUpRequest) {
@@ -153,7 +187,7 @@ public class AuthService {
         orgProfile.setRegistrationNumber(signUpRequest.getRegistrationNumber());
         orgProfile.setDesiredSkills(signUpRequest.getDesiredSkills());
 
-        organizationProfileRepository.save(orgProfile);
+        organizationService.createOrganization(orgProfile);
     }
 
     private void createUniversityProfile(User user, SignupRequest signUpRequest) {
@@ -167,7 +201,7 @@ public class AuthService {
         university.setFacultyCount(signUpRequest.getFacultyCount());
         university.setPrograms(signUpRequest.getPrograms());
 
-        universityRepository.save(university);
+        universityService.createUniversity(university);
     }
 
     @Transactional
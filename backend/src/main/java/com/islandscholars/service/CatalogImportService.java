@@ -0,0 +1,296 @@
+package com.islandscholars.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.dto.ImportResult;
+import com.islandscholars.model.Event;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.EventRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.search.EventGeoIndex;
+import com.islandscholars.search.InternshipFilterIndex;
+import com.islandscholars.search.InternshipSearchIndex;
+import com.islandscholars.search.SkillMatchIndex;
+import com.islandscholars.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams partner uploads of internships and events into the catalog. Rows are parsed
+ * and validated one at a time and persisted in chunks, each chunk in its own
+ * transaction, so the JDBC batch settings turn a chunk into a handful of multi-row
+ * INSERTs instead of one round trip per row and per collection element.
+ */
+@Service
+public class CatalogImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        public static Format of(MediaType contentType) {
+            return TEXT_CSV.includes(contentType) ? CSV : NDJSON;
+        }
+    }
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    // CSV columns holding lists; the values are separated by ';'
+    private static final Set<String> INTERNSHIP_LIST_COLUMNS = Set.of("skillsRequired");
+    private static final Set<String> EVENT_LIST_COLUMNS = Set.of("prizes", "tags");
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.max-rows:10000}")
+    private int maxRows;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private InternshipSearchIndex searchIndex;
+
+    @Autowired
+    private InternshipFilterIndex filterIndex;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private EventGeoIndex geoIndex;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ImportResult importInternships(User organization, InputStream body, Format format) {
+        return importRows(body, format, Internship.class, INTERNSHIP_LIST_COLUMNS, internship -> {
+            internship.setId(null);
+            internship.setOrganization(organization);
+            // Rows are prepared outside the chunk's transaction, see TagDictionary
+            tagDictionary.registerAll(internship.getSkillsRequired());
+        }, internshipRepository, saved -> {
+            saved.forEach(internship -> {
+                searchIndex.index(internship);
+                filterIndex.index(internship);
+                skillMatchIndex.indexInternship(internship);
+            });
+            typeaheadService.internshipsPosted(organization.getId(), saved.size());
+            resourceVersionService.changed(ResourceVersionService.Catalog.INTERNSHIPS);
+        });
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EVENT_LISTS, allEntries = true)
+    public ImportResult importEvents(User organization, InputStream body, Format format) {
+        return importRows(body, format, Event.class, EVENT_LIST_COLUMNS, event -> {
+            event.setId(null);
+            event.setOrganization(organization);
+            tagDictionary.registerAll(event.getTags());
+        }, eventRepository, saved -> {
+            saved.forEach(geoIndex::index);
+            resourceVersionService.changed(ResourceVersionService.Catalog.EVENTS);
+        });
+    }
+
+    private <T> ImportResult importRows(InputStream body, Format format, Class<T> type, Set<String> listColumns,
+                                        Consumer<T> prepare, JpaRepository<T, Long> repository,
+                                        Consumer<List<T>> afterCommit) {
+        ImportResult result = new ImportResult();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowSource<T> rows = format == Format.CSV
+                    ? new CsvRowSource<>(new CsvReader(reader), type, listColumns)
+                    : new NdjsonRowSource<>(reader, type);
+
+            while (rows.advance()) {
+                if (result.getReceived() >= maxRows) {
+                    result.recordRejected(rows.line(), "Import is limited to " + maxRows + " rows; the rest was ignored");
+                    break;
+                }
+                result.recordReceived();
+
+                T entity;
+                try {
+                    entity = rows.parse();
+                } catch (JsonProcessingException e) {
+                    result.recordRejected(rows.line(), e.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    // convertValue wraps binding errors; report Jackson's message without the path noise
+                    result.recordRejected(rows.line(), e.getCause() instanceof JsonProcessingException cause
+                            ? cause.getOriginalMessage() : e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violations = validator.validate(entity);
+                if (!violations.isEmpty()) {
+                    result.recordRejected(rows.line(), violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                prepare.accept(entity);
+                chunk.add(entity);
+                chunkLines.add(rows.line());
+                if (chunk.size() >= chunkSize) {
+                    persistChunk(chunk, chunkLines, repository, afterCommit, result);
+                }
+            }
+        } catch (IOException e) {
+            result.recordRejected(0, "Unreadable input: " + e.getMessage());
+        }
+
+        persistChunk(chunk, chunkLines, repository, afterCommit, result);
+        return result;
+    }
+
+    private <T> void persistChunk(List<T> chunk, List<Integer> chunkLines, JpaRepository<T, Long> repository,
+                                  Consumer<List<T>> afterCommit, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<T> saved = new TransactionTemplate(transactionManager).execute(status -> {
+                // Flushed through the repository so constraint violations arrive as DataAccessException
+                List<T> persisted = repository.saveAllAndFlush(chunk);
+                // Keeps the persistence context from growing with the upload
+                entityManager.clear();
+                return persisted;
+            });
+            result.recordImported(saved.size());
+            afterCommit.accept(saved);
+        } catch (DataAccessException e) {
+            String message = "Rejected with its chunk: " + e.getMostSpecificCause().getMessage();
+            chunkLines.forEach(line -> result.recordRejected(line, message));
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private interface RowSource<T> {
+        /** Moves to the next row; false at end of input. */
+        boolean advance() throws IOException;
+
+        /** Line on which the current row starts. */
+        int line();
+
+        T parse() throws JsonProcessingException;
+    }
+
+    private class NdjsonRowSource<T> implements RowSource<T> {
+        private final BufferedReader reader;
+        private final Class<T> type;
+        private String current;
+        private int line;
+
+        NdjsonRowSource(BufferedReader reader, Class<T> type) {
+            this.reader = reader;
+            this.type = type;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            do {
+                current = reader.readLine();
+                line++;
+            } while (current != null && current.isBlank());
+            return current != null;
+        }
+
+        @Override
+        public int line() {
+            return line;
+        }
+
+        @Override
+        public T parse() throws JsonProcessingException {
+            return objectMapper.readValue(current, type);
+        }
+    }
+
+    private class CsvRowSource<T> implements RowSource<T> {
+        private final CsvReader reader;
+        private final Class<T> type;
+        private final Set<String> listColumns;
+        private List<String> header;
+        private List<String> current;
+
+        CsvRowSource(CsvReader reader, Class<T> type, Set<String> listColumns) {
+            this.reader = reader;
+            this.type = type;
+            this.listColumns = listColumns;
+        }
+
+        @Override
+        public boolean advance() throws IOException {
+            if (header == null) {
+                header = reader.readRecord();
+                if (header == null) {
+                    return false;
+                }
+            }
+            current = reader.readRecord();
+            return current != null;
+        }
+
+        @Override
+        public int line() {
+            return reader.getRecordLine();
+        }
+
+        @Override
+        public T parse() {
+            // convertValue applies the same Jackson binding rules as an NDJSON row
+            return objectMapper.convertValue(CsvReader.toMap(header, current, listColumns), type);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.islandscholars.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event streams that push application changes to the dashboards of the
+ * users they concern. Publishing never blocks on a client: every connection has a
+ * bounded buffer drained by a small sender pool. A connection whose buffer overflows,
+ * or whose send has been stuck for too long, is closed; the browser's EventSource
+ * reconnects and the dashboard reloads its list once instead of silently missing
+ * events. Heartbeat comments keep idle connections open through proxies.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    // Tells EventSource how long to wait before reconnecting after a close
+    private static final long RECONNECT_MS = 3000;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService sender;
+
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long stallTimeoutMs;
+    private final int maxConnectionsPerUser;
+
+    private final Counter delivered;
+    private final MeterRegistry meterRegistry;
+
+    public DashboardStreamService(MeterRegistry meterRegistry,
+                                  @Value("${dashboard.stream.buffer-size:64}") int bufferSize,
+                                  @Value("${dashboard.stream.timeout-ms:1800000}") long timeoutMs,
+                                  @Value("${dashboard.stream.stall-timeout-ms:10000}") long stallTimeoutMs,
+                                  @Value("${dashboard.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                  @Value("${dashboard.stream.sender-threads:4}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("dashboard-stream-"));
+        this.meterRegistry = meterRegistry;
+
+        this.delivered = Counter.builder("dashboard.stream.events")
+                .description("Events written to dashboard streams")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.stream.connections", connections, AtomicInteger::get)
+                .description("Open dashboard streams")
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream for the user; the oldest of their streams is closed beyond the per-user limit. */
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs), bufferSize);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        // compute/computeIfPresent keep adding and removing atomic per user, so a set that
+        // is being dropped as empty never receives a new subscriber
+        Set<Subscriber> own = subscribers.compute(userId, (id, existing) -> {
+            Set<Subscriber> set = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+        while (own.size() > maxConnectionsPerUser) {
+            own.stream().min((a, b) -> Long.compare(a.openedAt, b.openedAt))
+                    .ifPresent(oldest -> evict(oldest, "connection-limit"));
+        }
+
+        enqueue(subscriber, SseEmitter.event().name("connected").reconnectTime(RECONNECT_MS).data("ok"));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Pushes an event to every stream the user has open. Inside a transaction the event
+     * is held back until commit, so dashboards never see changes that were rolled back.
+     */
+    public void publish(Long userId, String eventName, Object data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, eventName, data);
+                }
+            });
+        } else {
+            deliver(userId, eventName, data);
+        }
+    }
+
+    private void deliver(Long userId, String eventName, Object data) {
+        Set<Subscriber> own = subscribers.get(userId);
+        if (own == null) {
+            return;
+        }
+        for (Subscriber subscriber : own) {
+            enqueue(subscriber, SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(eventName)
+                    .data(data));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Set<Subscriber> own : subscribers.values()) {
+            for (Subscriber subscriber : own) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince != 0 && now - sendingSince > stallTimeoutMs) {
+                    evict(subscriber, "stalled");
+                } else {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            evict(subscriber, "buffer-full");
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                subscriber.sendingSince = System.currentTimeMillis();
+                subscriber.emitter.send(event);
+                subscriber.sendingSince = 0;
+                delivered.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter's own callbacks may not have fired yet
+            logger.debug("Dashboard stream for user {} closed: {}", subscriber.userId, e.getMessage());
+            remove(subscriber);
+        } finally {
+            subscriber.sendingSince = 0;
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before draining was cleared
+        if (!subscriber.closed && !subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        if (remove(subscriber)) {
+            Counter.builder("dashboard.stream.evicted")
+                    .description("Dashboard streams closed by the server")
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            logger.debug("Evicted dashboard stream for user {}: {}", subscriber.userId, reason);
+            try {
+                subscriber.emitter.complete();
+            } catch (RuntimeException e) {
+                logger.debug("Could not complete evicted stream", e);
+            }
+        }
+    }
+
+    // Returns true for the caller that actually removed the subscriber
+    private boolean remove(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return false;
+            }
+            subscriber.closed = true;
+        }
+        subscriber.buffer.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, own) -> {
+            own.remove(subscriber);
+            return own.isEmpty() ? null : own;
+        });
+        connections.decrementAndGet();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(own -> own.forEach(subscriber -> {
+            if (remove(subscriber)) {
+                try {
+                    subscriber.emitter.complete();
+                } catch (RuntimeException e) {
+                    logger.debug("Could not complete stream on shutdown", e);
+                }
+            }
+        }));
+        sender.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<SseEventBuilder> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final long openedAt = System.nanoTime();
+        volatile long sendingSince;
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.islandscholars.service;
+
+/**
+ * Thrown when a registration or cancellation cannot be applied. The reason tells
+ * controllers which status to answer with.
+ */
+public class EventRegistrationException extends RuntimeException {
+
+    public enum Reason {
+        EVENT_NOT_FOUND,
+        CLOSED,
+        ALREADY_REGISTERED,
+        NOT_REGISTERED,
+        // The registration queue is full
+        BUSY,
+        // Queued but not applied within the wait limit; it may still go through
+        PENDING
+    }
+
+    private final Reason reason;
+
+    public EventRegistrationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
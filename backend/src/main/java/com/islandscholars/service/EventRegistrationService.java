@@ -0,0 +1,432 @@
+package com.islandscholars.service;
+
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.dto.event.EventRegistrationResponse;
+import com.islandscholars.model.Event;
+import com.islandscholars.model.EventRegistration;
+import com.islandscholars.model.EventStatus;
+import com.islandscholars.model.RegistrationStatus;
+import com.islandscholars.repository.EventRegistrationRepository;
+import com.islandscholars.repository.EventRepository;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.service.EventRegistrationException.Reason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Event sign-ups. Registrations and cancellations are queued and applied by a single
+ * writer thread in batches: whatever arrives while one batch commits goes into the
+ * next, so a rush of sign-ups when registration opens costs one transaction per batch
+ * instead of one contended transaction per request. Within a batch each event's row
+ * is locked once, seats are handed out in arrival order, later arrivals join an
+ * ordered waitlist, and seats freed by cancellations go to the longest-waiting
+ * registrations. Callers wait until the batch holding their request has committed.
+ */
+@Service
+public class EventRegistrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventRegistrationService.class);
+
+    // Upper bound on waitlist rows promoted per event per batch; the rest follow in the next
+    private static final int MAX_PROMOTIONS = 1000;
+
+    private enum CommandType { REGISTER, CANCEL, FILL_SEATS }
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache eventCache;
+    private final Cache eventListCache;
+    private final ResourceVersionService resourceVersionService;
+
+    private final int batchSize;
+    private final long waitMs;
+    private final BlockingQueue<Command> queue;
+    private final Thread writer;
+
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    public EventRegistrationService(EventRepository eventRepository,
+                                    EventRegistrationRepository registrationRepository,
+                                    UserRepository userRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    CacheManager cacheManager,
+                                    ResourceVersionService resourceVersionService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${events.registration.batch-size:100}") int batchSize,
+                                    @Value("${events.registration.queue-capacity:2000}") int queueCapacity,
+                                    @Value("${events.registration.wait-ms:30000}") long waitMs) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventCache = cacheManager.getCache(CacheConfig.EVENT_BY_ID);
+        this.eventListCache = cacheManager.getCache(CacheConfig.EVENT_LISTS);
+        this.resourceVersionService = resourceVersionService;
+        this.batchSize = batchSize;
+        this.waitMs = waitMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new CustomizableThreadFactory("event-registration-").newThread(this::runWriter);
+
+        this.batchSizes = DistributionSummary.builder("events.registration.batch.size")
+                .description("Registration requests applied per transaction")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("events.registration.rejected")
+                .description("Registration requests refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("events.registration.queue.depth", queue, BlockingQueue::size)
+                .description("Registration requests waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.interrupt();
+    }
+
+    /**
+     * Registers the student, or puts them on the waitlist when the event is full.
+     *
+     * @throws EventRegistrationException if the event is unknown or closed, the student
+     *         is already registered or waitlisted, or the queue is full
+     */
+    public EventRegistrationResponse register(Long eventId, Long studentId) {
+        return await(submit(new Command(CommandType.REGISTER, eventId, studentId)));
+    }
+
+    /**
+     * Cancels the student's registration or waitlist place. A freed seat goes to the
+     * head of the waitlist in the same transaction.
+     */
+    public void cancel(Long eventId, Long studentId) {
+        await(submit(new Command(CommandType.CANCEL, eventId, studentId)));
+    }
+
+    /**
+     * Promotes waitlisted registrations into seats that opened up outside of a
+     * cancellation, e.g. when maxParticipants was raised. Does not wait; if the queue
+     * is full the seats are filled by the event's next registration batch instead.
+     */
+    public void fillFreedSeats(Long eventId) {
+        if (!queue.offer(new Command(CommandType.FILL_SEATS, eventId, null))) {
+            logger.debug("Registration queue full, event {} seats will be filled by its next batch", eventId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EventRegistrationResponse> getRegistration(Long eventId, Long studentId) {
+        return registrationRepository.findByEventAndStudent(eventId, studentId)
+                .map(registration -> EventRegistrationResponse.of(registration, eventId, waitlistPosition(eventId, registration)));
+    }
+
+    // Registered first, then the waitlist in promotion order
+    @Transactional(readOnly = true)
+    public List<EventRegistrationResponse> getRegistrationsForEvent(Long eventId) {
+        List<EventRegistrationResponse> responses = new ArrayList<>();
+        long position = 0;
+        for (EventRegistration registration : registrationRepository.findByEventWithStudents(eventId)) {
+            if (registration.getStatus() == RegistrationStatus.WAITLISTED) {
+                position++;
+            }
+            EventRegistrationResponse response = EventRegistrationResponse.of(registration, eventId, position);
+            response.setStudentId(registration.getStudent().getId());
+            response.setStudentName(registration.getStudent().getFullName());
+            response.setStudentEmail(registration.getStudent().getEmail());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventRegistrationResponse> getRegistrationsForStudent(Long studentId) {
+        List<EventRegistrationResponse> responses = new ArrayList<>();
+        for (EventRegistration registration : registrationRepository.findByStudentWithEvents(studentId)) {
+            Event event = registration.getEvent();
+            EventRegistrationResponse response = EventRegistrationResponse.of(registration, event.getId(),
+                    waitlistPosition(event.getId(), registration));
+            response.setEventTitle(event.getTitle());
+            response.setEventStartDate(event.getStartDate());
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private Long waitlistPosition(Long eventId, EventRegistration registration) {
+        if (registration.getStatus() != RegistrationStatus.WAITLISTED) {
+            return null;
+        }
+        return registrationRepository.countWaitlistedAhead(eventId, registration.getRegisteredAt(), registration.getId()) + 1;
+    }
+
+    private Command submit(Command command) {
+        if (!queue.offer(command)) {
+            rejected.increment();
+            throw new EventRegistrationException(Reason.BUSY, "Too many registrations right now, please retry shortly");
+        }
+        return command;
+    }
+
+    private EventRegistrationResponse await(Command command) {
+        try {
+            return command.future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new EventRegistrationException(Reason.PENDING,
+                    "Your request is still being processed, check your registration shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for registration", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void runWriter() {
+        List<Command> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            batchSizes.record(batch.size());
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                logger.error("Registration batch failed", e);
+                batch.forEach(command -> command.future.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+
+        List<Command> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(command -> command.future.completeExceptionally(
+                new IllegalStateException("Registration service is shutting down")));
+    }
+
+    private void apply(List<Command> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyInTransaction(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                throw e;
+            }
+            // Isolates the request that broke the batch; the others still go through
+            logger.warn("Registration batch of {} failed, retrying one by one", batch.size(), e);
+            batch.forEach(command -> {
+                try {
+                    apply(List.of(command));
+                } catch (RuntimeException single) {
+                    command.future.completeExceptionally(single);
+                }
+            });
+            return;
+        }
+
+        batch.forEach(Command::complete);
+        batch.stream().map(command -> command.eventId).distinct().forEach(eventCache::evict);
+        // The listed events carry registeredCount too
+        eventListCache.clear();
+        resourceVersionService.changed(ResourceVersionService.Catalog.EVENTS);
+    }
+
+    private void applyInTransaction(List<Command> batch) {
+        // Events are locked in id order so writers on several instances cannot deadlock
+        Map<Long, List<Command>> byEvent = new TreeMap<>();
+        for (Command command : batch) {
+            command.reset();
+            byEvent.computeIfAbsent(command.eventId, id -> new ArrayList<>()).add(command);
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        byEvent.forEach((eventId, commands) -> applyToEvent(eventId, commands, now));
+    }
+
+    private void applyToEvent(Long eventId, List<Command> commands, LocalDateTime now) {
+        Optional<Event> found = eventRepository.findByIdForUpdate(eventId);
+        if (found.isEmpty()) {
+            commands.forEach(command -> command.reject(Reason.EVENT_NOT_FOUND, "Event not found"));
+            return;
+        }
+        Event event = found.get();
+        Integer capacity = event.getMaxParticipants();
+        boolean open = event.getStatus() == EventStatus.ACTIVE && !now.isAfter(event.getRegistrationDeadline());
+
+        // Seats opened since the last batch (e.g. a raised capacity) go to the waitlist first
+        int registered = event.getRegisteredCount() + promote(eventId, capacity, event.getRegisteredCount(), now);
+        boolean waitlistOpen = capacity != null && registered >= capacity;
+
+        List<Long> studentIds = commands.stream()
+                .filter(command -> command.studentId != null)
+                .map(command -> command.studentId)
+                .distinct()
+                .toList();
+        Map<Long, EventRegistration> byStudent = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            registrationRepository.findByEventAndStudents(eventId, studentIds)
+                    .forEach(registration -> byStudent.put(registration.getStudent().getId(), registration));
+        }
+
+        List<EventRegistration> created = new ArrayList<>();
+        List<EventRegistration> cancelled = new ArrayList<>();
+        for (Command command : commands) {
+            if (command.type == CommandType.REGISTER) {
+                EventRegistration existing = byStudent.get(command.studentId);
+                if (existing != null) {
+                    command.reject(Reason.ALREADY_REGISTERED, existing.getStatus() == RegistrationStatus.WAITLISTED
+                            ? "You are already on the waitlist for this event"
+                            : "You are already registered for this event");
+                    continue;
+                }
+                if (!open) {
+                    command.reject(Reason.CLOSED, "Registration for this event is closed");
+                    continue;
+                }
+                // Once anyone is waiting, newcomers queue behind them even if a seat was just freed
+                RegistrationStatus status = waitlistOpen ? RegistrationStatus.WAITLISTED : RegistrationStatus.REGISTERED;
+                if (status == RegistrationStatus.REGISTERED) {
+                    registered++;
+                    waitlistOpen = capacity != null && registered >= capacity;
+                }
+                EventRegistration registration = new EventRegistration(event,
+                        userRepository.getReferenceById(command.studentId), status, now);
+                byStudent.put(command.studentId, registration);
+                created.add(registration);
+                command.registration = registration;
+            } else if (command.type == CommandType.CANCEL) {
+                EventRegistration registration = byStudent.remove(command.studentId);
+                if (registration == null) {
+                    command.reject(Reason.NOT_REGISTERED, "You are not registered for this event");
+                    continue;
+                }
+                if (registration.getStatus() == RegistrationStatus.REGISTERED) {
+                    registered--;
+                }
+                // Registered and cancelled within the same batch: never written at all
+                if (!created.remove(registration)) {
+                    cancelled.add(registration);
+                }
+            }
+        }
+
+        // Deletes first: a student may cancel and register again within one batch
+        if (!cancelled.isEmpty()) {
+            registrationRepository.deleteAllInBatch(cancelled);
+        }
+        registrationRepository.saveAll(created);
+        if (waitlistOpen) {
+            registered += promote(eventId, capacity, registered, now);
+        }
+
+        int delta = registered - event.getRegisteredCount();
+        if (delta != 0) {
+            eventRepository.adjustRegisteredCount(eventId, delta, now);
+        }
+
+        // New waitlist entries are the newest, so they occupy the tail in arrival order
+        List<Command> waitlisted = commands.stream()
+                .filter(command -> command.registration != null
+                        && command.registration.getStatus() == RegistrationStatus.WAITLISTED)
+                .toList();
+        if (!waitlisted.isEmpty()) {
+            long waitlistLength = registrationRepository.countByEventAndStatus(eventId, RegistrationStatus.WAITLISTED);
+            for (int i = 0; i < waitlisted.size(); i++) {
+                waitlisted.get(i).waitlistPosition = waitlistLength - waitlisted.size() + i + 1;
+            }
+        }
+    }
+
+    // Moves the head of the waitlist into free seats; returns how many were promoted
+    private int promote(Long eventId, Integer capacity, int registered, LocalDateTime now) {
+        int free = capacity == null ? MAX_PROMOTIONS : Math.min(capacity - registered, MAX_PROMOTIONS);
+        if (free <= 0) {
+            return 0;
+        }
+        List<EventRegistration> promoted = registrationRepository.findWaitlist(eventId, PageRequest.of(0, free));
+        for (EventRegistration registration : promoted) {
+            registration.setStatus(RegistrationStatus.REGISTERED);
+            registration.setPromotedAt(now);
+        }
+        return promoted.size();
+    }
+
+    private static final class Command {
+        final CommandType type;
+        final Long eventId;
+        final Long studentId;
+        final CompletableFuture<EventRegistrationResponse> future = new CompletableFuture<>();
+
+        // Outcome of the current attempt; only published once its transaction commits
+        EventRegistration registration;
+        Long waitlistPosition;
+        Reason reason;
+        String message;
+
+        Command(CommandType type, Long eventId, Long studentId) {
+            this.type = type;
+            this.eventId = eventId;
+            this.studentId = studentId;
+        }
+
+        void reset() {
+            registration = null;
+            waitlistPosition = null;
+            reason = null;
+            message = null;
+        }
+
+        void reject(Reason reason, String message) {
+            this.reason = reason;
+            this.message = message;
+        }
+
+        void complete() {
+            if (reason != null) {
+                future.completeExceptionally(new EventRegistrationException(reason, message));
+            } else {
+                future.complete(registration == null ? null
+                        : EventRegistrationResponse.of(registration, eventId, waitlistPosition));
+            }
+        }
+    }
+}
@@ -2,41 +2,121 @@ package com.islandscholars.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.islandscholars.config.CacheConfig;
 import com.islandscholars.model.Event;
 import com.islandscholars.model.EventStatus;
+import com.islandscholars.model.EventType;
 import com.islandscholars.model.User;
+import com.islandscholars.repository.EventRegistrationRepository;
 import com.islandscholars.repository.EventRepository;
+import com.islandscholars.search.EventGeoIndex;
+import com.islandscholars.search.GeoPoint;
 
 @Service
 public class EventService {
 
+    public static final int DEFAULT_NEARBY_SIZE = 20;
+    public static final int MAX_NEARBY_SIZE = 50;
+    public static final int UPCOMING_SIZE = 6;
+
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private EventGeoIndex geoIndex;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmGeoIndex() {
+        geoIndex.rebuild(eventRepository.findAll());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EVENT_LISTS, key = "'active'")
+    @Transactional(readOnly = true)
     public List<Event> getAllActiveEvents() {
-        return eventRepository.findByStatusAndStartDateAfter(EventStatus.ACTIVE, LocalDateTime.now());
+        return initialized(eventRepository.findByStatusAndStartDateAfter(EventStatus.ACTIVE, LocalDateTime.now()));
     }
 
     public List<Event> getEventsByOrganization(User organization) {
         return eventRepository.findByOrganization(organization);
     }
 
+    @Cacheable(cacheNames = CacheConfig.EVENT_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<Event> getEventById(Long id) {
-        return eventRepository.findById(id);
+        return eventRepository.findById(id).map(this::initialized);
+    }
+
+    /**
+     * Active upcoming events nearest to {@code near} first, optionally within
+     * {@code radiusKm} and of one type. Only the returned events are loaded.
+     */
+    public List<Event> getNearbyEvents(GeoPoint near, Double radiusKm, EventType eventType, Integer size) {
+        if (near == null) {
+            throw new IllegalArgumentException("near or lat/lon is required");
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            throw new IllegalArgumentException("radiusKm must be positive");
+        }
+        int limit = size == null ? DEFAULT_NEARBY_SIZE : Math.max(1, Math.min(size, MAX_NEARBY_SIZE));
+        List<Long> ids = geoIndex.nearest(near, radiusKm, eventType, LocalDateTime.now(), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(event -> event != null)
+                .toList();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EVENT_LISTS, allEntries = true)
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        // Before save opens its transaction, see TagDictionary
+        tagDictionary.registerAll(event.getTags());
+        Event saved = eventRepository.save(event);
+        geoIndex.index(saved);
+        resourceVersionService.changed(ResourceVersionService.Catalog.EVENTS);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_LISTS, allEntries = true)
+    })
     public Event updateEvent(Long id, Event eventDetails) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
+        Integer previousCapacity = event.getMaxParticipants();
 
         event.setTitle(eventDetails.getTitle());
         event.setDescription(eventDetails.getDescription());
@@ -52,17 +132,45 @@ public class EventService {
         event.setTags(eventDetails.getTags());
         event.setStatus(eventDetails.getStatus());
 
-        return eventRepository.save(event);
+        tagDictionary.registerAll(event.getTags());
+        Event saved = eventRepository.save(event);
+        geoIndex.index(saved);
+        resourceVersionService.changed(ResourceVersionService.Catalog.EVENTS);
+        if (previousCapacity != null && (saved.getMaxParticipants() == null
+                || saved.getMaxParticipants() > previousCapacity)) {
+            eventRegistrationService.fillFreedSeats(id);
+        }
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EVENT_LISTS, allEntries = true)
+    })
+    @Transactional
     public void deleteEvent(Long id) {
+        eventRegistrationRepository.deleteByEventId(id);
         eventRepository.deleteById(id);
+        geoIndex.remove(id);
+        resourceVersionService.changed(ResourceVersionService.Catalog.EVENTS);
     }
 
+    @Cacheable(cacheNames = CacheConfig.EVENT_LISTS, key = "'upcoming'")
+    @Transactional(readOnly = true)
     public List<Event> getUpcomingEvents() {
-        return eventRepository.findByStatusAndStartDateAfter(EventStatus.ACTIVE, LocalDateTime.now())
-                .stream()
-                .limit(6)
-                .toList();
+        return initialized(eventRepository.findByStatusAndStartDateAfterOrderByStartDateAscIdAsc(
+                EventStatus.ACTIVE, LocalDateTime.now(), PageRequest.of(0, UPCOMING_SIZE)));
+    }
+
+    // Cached entities outlive their session, so lazy collections are loaded up front
+    private List<Event> initialized(List<Event> events) {
+        events.forEach(this::initialized);
+        return events;
+    }
+
+    private Event initialized(Event event) {
+        Hibernate.initialize(event.getPrizes());
+        Hibernate.initialize(event.getTags());
+        return event;
     }
 }
\ No newline at end of file
@@ -1,22 +1,94 @@
 package com.islandscholars.service;
 
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.dto.CursorPage;
+import com.islandscholars.dto.InternshipSort;
+import com.islandscholars.dto.SkillMatch;
+import com.islandscholars.dto.internship.InternshipFacets;
 import com.islandscholars.model.Duration;
+import com.islandscholars.model.Industry;
 import com.islandscholars.model.Internship;
 import com.islandscholars.model.User;
 import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.OrganizationProfileRepository;
+import com.islandscholars.search.GeoPoint;
+import com.islandscholars.search.InternshipFilterIndex;
+import com.islandscholars.search.InternshipSearchIndex;
+import com.islandscholars.search.SkillMatchIndex;
+import com.islandscholars.util.CursorCodec;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class InternshipService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Location values returned in the facet counts, most frequent first
+    private static final int FACET_LOCATIONS = 20;
+
+    // Upper bound for the first NEWEST page, so every page uses the same keyset predicate
+    private static final LocalDateTime NEWEST_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     @Autowired
     private InternshipRepository internshipRepository;
 
+    @Autowired
+    private InternshipSearchIndex searchIndex;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private InternshipFilterIndex filterIndex;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private OrganizationProfileRepository organizationProfileRepository;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmSearchIndex() {
+        List<Internship> internships = internshipRepository.findAllWithSkills();
+        searchIndex.rebuild(internships);
+        Map<Long, Industry> industries = new HashMap<>();
+        for (OrganizationProfileRepository.OrganizationIndustry organization : organizationProfileRepository.findIndustries()) {
+            if (organization.getIndustry() != null) {
+                industries.put(organization.getUserId(), organization.getIndustry());
+            }
+        }
+        filterIndex.rebuild(internships, industries);
+    }
+
     public List<Internship> getAllActiveInternships() {
         return internshipRepository.findByIsActiveTrueAndApplicationDeadlineAfter(LocalDate.now());
     }
@@ -25,14 +97,28 @@ public class InternshipService {
         return internshipRepository.findByOrganization(organization);
     }
 
+    @Cacheable(cacheNames = CacheConfig.INTERNSHIP_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<Internship> getInternshipById(Long id) {
-        return internshipRepository.findById(id);
+        Optional<Internship> internship = internshipRepository.findById(id);
+        // Cached entities outlive their session, so the lazy skills are loaded up front
+        internship.ifPresent(i -> Hibernate.initialize(i.getSkillsRequired()));
+        return internship;
     }
 
     public Internship createInternship(Internship internship) {
-        return internshipRepository.save(internship);
+        // Before save opens its transaction, see TagDictionary
+        tagDictionary.registerAll(internship.getSkillsRequired());
+        Internship saved = internshipRepository.save(internship);
+        searchIndex.index(saved);
+        filterIndex.index(saved);
+        skillMatchIndex.indexInternship(saved);
+        typeaheadService.internshipsPosted(saved.getOrganization().getId(), 1);
+        resourceVersionService.changed(ResourceVersionService.Catalog.INTERNSHIPS);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INTERNSHIP_BY_ID, key = "#id")
     public Internship updateInternship(Long id, Internship internshipDetails) {
         Internship internship = internshipRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Internship not found"));
@@ -51,14 +137,211 @@ public class InternshipService {
         internship.setMaxApplicants(internshipDetails.getMaxApplicants());
         internship.setActive(internshipDetails.isActive());
 
-        return internshipRepository.save(internship);
+        tagDictionary.registerAll(internship.getSkillsRequired());
+        Internship saved = internshipRepository.save(internship);
+        searchIndex.index(saved);
+        filterIndex.index(saved);
+        skillMatchIndex.indexInternship(saved);
+        resourceVersionService.changed(ResourceVersionService.Catalog.INTERNSHIPS);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.INTERNSHIP_BY_ID, key = "#id")
     public void deleteInternship(Long id) {
-        internshipRepository.deleteById(id);
+        Internship internship = internshipRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Internship not found"));
+        internshipRepository.delete(internship);
+        searchIndex.remove(id);
+        filterIndex.remove(id);
+        skillMatchIndex.removeInternship(id);
+        typeaheadService.internshipsPosted(internship.getOrganization().getId(), -1);
+        resourceVersionService.changed(ResourceVersionService.Catalog.INTERNSHIPS);
     }
 
     public List<Internship> searchInternships(String title, String location, Duration duration, Boolean isRemote) {
         return internshipRepository.findInternshipsWithFilters(title, location, duration, isRemote);
     }
+
+    /**
+     * Full-text search over open internships, best BM25 match first. Only the
+     * ranked hits are loaded from the database.
+     */
+    public List<Internship> fullTextSearch(String query, String location, Duration duration, Boolean isRemote,
+                                           Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Long> ids = searchIndex.search(query, location, duration, isRemote, LocalDate.now(), limit).stream()
+                .map(InternshipSearchIndex.SearchHit::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Internship> byId = internshipRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Internship::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(internship -> internship != null)
+                .toList();
+    }
+
+    /**
+     * Returns one keyset page of open internships. The cursor is the opaque
+     * {@code nextCursor} of the previous page and must be used with the same sort.
+     * Pages filtered by skill or distance, and pages ordered by distance from
+     * {@code near}, are selected by {@link InternshipFilterIndex} and only the page
+     * itself is loaded; cursors are interchangeable between both paths.
+     */
+    public CursorPage<Internship> getInternshipPage(String title, String location, Duration duration, Boolean isRemote,
+                                                    List<String> skills, SkillMatch skillMatch,
+                                                    GeoPoint near, Double radiusKm,
+                                                    InternshipSort sort, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        LocalDate today = LocalDate.now();
+
+        if (sort == InternshipSort.DISTANCE && near == null) {
+            throw new IllegalArgumentException("sort=DISTANCE needs near or lat/lon");
+        }
+        InternshipFilterIndex.Filter filter = catalogFilter(title, location, duration, isRemote, skills, skillMatch,
+                near, radiusKm);
+        InternshipFilterIndex.Filter indexFilter = filter.skillIds() != null || filter.radiusKm() != null
+                || sort == InternshipSort.DISTANCE ? filter : null;
+
+        List<Internship> rows;
+        if (sort == InternshipSort.DISTANCE) {
+            double afterDistance = -1;
+            long afterId = Long.MAX_VALUE;
+            if (cursor != null) {
+                String[] parts = CursorCodec.decode(cursor, 2);
+                afterDistance = parse(() -> Double.parseDouble(parts[0]));
+                afterId = parse(() -> Long.parseLong(parts[1]));
+            }
+            rows = loadInOrder(filterIndex.pageByDistance(indexFilter, today, afterDistance, afterId, pageSize + 1));
+        } else if (sort == InternshipSort.NEWEST) {
+            LocalDateTime beforeCreatedAt = NEWEST_START;
+            long beforeId = Long.MAX_VALUE;
+            if (cursor != null) {
+                String[] parts = CursorCodec.decode(cursor, 2);
+                beforeCreatedAt = parse(() -> LocalDateTime.parse(parts[0]));
+                beforeId = parse(() -> Long.parseLong(parts[1]));
+            }
+            rows = indexFilter != null
+                    ? loadInOrder(filterIndex.pageByNewest(indexFilter, today, beforeCreatedAt, beforeId, pageSize + 1))
+                    : internshipRepository.findCatalogPageByNewest(today, beforeCreatedAt, beforeId,
+                            title, location, duration, isRemote, limit);
+        } else {
+            LocalDate afterDeadline = today;
+            long afterId = Long.MAX_VALUE;
+            if (cursor != null) {
+                String[] parts = CursorCodec.decode(cursor, 2);
+                afterDeadline = parse(() -> LocalDate.parse(parts[0]));
+                afterId = parse(() -> Long.parseLong(parts[1]));
+            }
+            rows = indexFilter != null
+                    ? loadInOrder(filterIndex.pageByDeadline(indexFilter, today, afterDeadline, afterId, pageSize + 1))
+                    : internshipRepository.findCatalogPageByDeadline(afterDeadline, afterId,
+                            title, location, duration, isRemote, limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<Internship> items = rows.subList(0, pageSize);
+        Internship last = items.get(pageSize - 1);
+        String nextCursor = switch (sort) {
+            case NEWEST -> CursorCodec.encode(last.getCreatedAt(), last.getId());
+            case DISTANCE -> CursorCodec.encode(filterIndex.distanceKm(near, last.getId()), last.getId());
+            case DEADLINE -> CursorCodec.encode(last.getApplicationDeadline(), last.getId());
+        };
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Facet counts for the open internships matching the same filters as
+     * {@link #getInternshipPage}, counted from {@link InternshipFilterIndex} in one pass.
+     */
+    public InternshipFacets getCatalogFacets(String title, String location, Duration duration, Boolean isRemote,
+                                             List<String> skills, SkillMatch skillMatch,
+                                             GeoPoint near, Double radiusKm) {
+        InternshipFilterIndex.Facets counts = filterIndex.facets(
+                catalogFilter(title, location, duration, isRemote, skills, skillMatch, near, radiusKm),
+                LocalDate.now(), FACET_LOCATIONS);
+
+        InternshipFacets facets = new InternshipFacets();
+        facets.setTotal(counts.total());
+        Map<Duration, Integer> durations = new EnumMap<>(Duration.class);
+        for (Duration value : Duration.values()) {
+            durations.put(value, counts.durations()[value.ordinal()]);
+        }
+        facets.setDuration(durations);
+        facets.setRemote(counts.remote());
+        facets.setOnSite(counts.onSite());
+        facets.setLocation(counts.locations().stream()
+                .map(value -> new InternshipFacets.LocationCount(value.value(), value.count()))
+                .toList());
+        List<InternshipFacets.StipendRange> stipends = new ArrayList<>();
+        long[] bounds = InternshipFilterIndex.STIPEND_BOUNDS;
+        for (int bucket = 0; bucket <= bounds.length; bucket++) {
+            stipends.add(new InternshipFacets.StipendRange(bucket == 0 ? 0 : bounds[bucket - 1],
+                    bucket < bounds.length ? bounds[bucket] : null, counts.stipends()[bucket]));
+        }
+        facets.setStipend(stipends);
+        Map<Industry, Integer> industries = new EnumMap<>(Industry.class);
+        for (Industry value : Industry.values()) {
+            industries.put(value, counts.industries()[value.ordinal()]);
+        }
+        facets.setIndustry(industries);
+        return facets;
+    }
+
+    // skillIds stay null without a skill filter, so callers can tell the SQL path from the index path
+    private InternshipFilterIndex.Filter catalogFilter(String title, String location, Duration duration,
+                                                       Boolean isRemote, List<String> skills, SkillMatch skillMatch,
+                                                       GeoPoint near, Double radiusKm) {
+        if (radiusKm != null && (near == null || !(radiusKm > 0))) {
+            throw new IllegalArgumentException(near == null
+                    ? "radiusKm needs near or lat/lon" : "radiusKm must be positive");
+        }
+        List<String> skillNames = skills == null ? List.of()
+                : skills.stream().filter(skill -> skill != null && !skill.isBlank()).toList();
+        return new InternshipFilterIndex.Filter(title, location, duration, isRemote,
+                skillNames.isEmpty() ? null : resolveSkills(skillNames, skillMatch), skillMatch == SkillMatch.ALL,
+                near, radiusKm);
+    }
+
+    private List<Internship> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Internship> byId = internshipRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Internship::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(internship -> internship != null)
+                .toList();
+    }
+
+    // Tag ids of the named skills. An unknown skill is dropped from ANY and empties ALL.
+    private List<Integer> resolveSkills(List<String> names, SkillMatch skillMatch) {
+        List<Integer> ids = new ArrayList<>();
+        for (String name : names) {
+            Optional<Integer> id = tagDictionary.find(name);
+            if (id.isPresent()) {
+                ids.add(id.get());
+            } else if (skillMatch == SkillMatch.ALL) {
+                return List.of();
+            }
+        }
+        return ids;
+    }
+
+    private static <T> T parse(Supplier<T> parser) {
+        try {
+            return parser.get();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
 }
\ No newline at end of file
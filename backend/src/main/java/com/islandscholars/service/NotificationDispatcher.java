@@ -0,0 +1,225 @@
+package com.islandscholars.service;
+
+import com.islandscholars.model.OutboxEvent;
+import com.islandscholars.model.OutboxStatus;
+import com.islandscholars.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the notification outbox in the background. Each run claims a batch of
+ * due events, delivers them over a shared HTTP client with bounded concurrency,
+ * and reschedules failures with exponential backoff until maxAttempts is reached.
+ *
+ * <p>Several instances may run the dispatcher. A claim locks due rows with
+ * {@code FOR UPDATE SKIP LOCKED} and moves their next attempt a lease into the future
+ * in one short transaction, so other instances neither wait for nor see them while
+ * they are delivered outside it. Rows of an instance that dies mid-batch come due
+ * again when the lease runs out, so delivery is at least once. Sent rows are purged
+ * after {@code notifications.sent-retention-hours}; failed ones are kept.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OkHttpClient httpClient;
+    private final Executor executor;
+
+    private final String notificationUrl;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimLeaseMs;
+    private final long sentRetentionHours;
+
+    private final Timer dispatchLatency;
+    private final Timer requestLatency;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pending = new AtomicLong();
+
+    public NotificationDispatcher(OutboxEventRepository outboxEventRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  OkHttpClient notificationHttpClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notifications.application-created-url}") String notificationUrl,
+                                  @Value("${notifications.batch-size:50}") int batchSize,
+                                  @Value("${notifications.max-concurrency:4}") int maxConcurrency,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                  @Value("${notifications.max-attempts:8}") int maxAttempts,
+                                  @Value("${notifications.initial-backoff-ms:1000}") long initialBackoffMs,
+                                  @Value("${notifications.max-backoff-ms:300000}") long maxBackoffMs,
+                                  @Value("${notifications.claim-lease-ms:300000}") long claimLeaseMs,
+                                  @Value("${notifications.sent-retention-hours:168}") long sentRetentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.httpClient = notificationHttpClient;
+        this.executor = createExecutor(maxConcurrency, virtualThreads);
+        this.notificationUrl = notificationUrl;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimLeaseMs = claimLeaseMs;
+        this.sentRetentionHours = sentRetentionHours;
+
+        this.dispatchLatency = Timer.builder("notifications.dispatch.latency")
+                .description("Time from outbox insert to successful delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.requestLatency = Timer.builder("notifications.dispatch.request")
+                .description("Duration of a single delivery attempt")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("notifications.dispatch.sent");
+        this.retryCounter = meterRegistry.counter("notifications.dispatch.retried");
+        this.failedCounter = meterRegistry.counter("notifications.dispatch.failed");
+        Gauge.builder("notifications.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting for delivery at the last dispatch run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch-interval-ms:1000}")
+    public void dispatchPending() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            pending.set(0);
+            return;
+        }
+
+        CompletableFuture.allOf(batch.stream()
+                        .map(event -> CompletableFuture.runAsync(() -> deliver(event), executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+
+        outboxEventRepository.saveAll(batch);
+        pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int purged = outboxEventRepository.deleteByStatusAndSentAtBefore(OutboxStatus.SENT,
+                LocalDateTime.now().minusHours(sentRetentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} sent outbox events older than {} hours", purged, sentRetentionHours);
+        }
+    }
+
+    // The lease must outlast a batch's delivery, or another instance may deliver its rows too
+    private List<OutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> due = outboxEventRepository.findDueForUpdate(OutboxStatus.PENDING, now,
+                    PageRequest.of(0, batchSize));
+            LocalDateTime leaseUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+            due.forEach(event -> event.setNextAttemptAt(leaseUntil));
+            return due;
+        });
+    }
+
+    /**
+     * On platform threads deliveries share a fixed pool. In virtual-thread mode each
+     * delivery gets its own virtual thread and the concurrency limit replaces the pool
+     * size, so the receiver still sees at most max-concurrency requests at a time. Below
+     * Java 21 the setting is ignored, as it is for the web server (see ThreadingModeReporter).
+     */
+    private static Executor createExecutor(int maxConcurrency, boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notification-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency);
+            return executor;
+        }
+        return Executors.newFixedThreadPool(maxConcurrency);
+    }
+
+    private void deliver(OutboxEvent event) {
+        Request request = new Request.Builder()
+                .url(notificationUrl)
+                .post(RequestBody.create(event.getPayload(), JSON))
+                .build();
+
+        event.setAttempts(event.getAttempts() + 1);
+        long start = System.nanoTime();
+        try (Response response = httpClient.newCall(request).execute()) {
+            requestLatency.record(Duration.ofNanos(System.nanoTime() - start));
+            if (response.isSuccessful()) {
+                markSent(event);
+            } else {
+                markFailed(event, "HTTP " + response.code());
+            }
+        } catch (IOException | RuntimeException e) {
+            requestLatency.record(Duration.ofNanos(System.nanoTime() - start));
+            markFailed(event, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private void markSent(OutboxEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        event.setStatus(OutboxStatus.SENT);
+        event.setSentAt(now);
+        event.setLastError(null);
+        if (event.getCreatedAt() != null) {
+            dispatchLatency.record(Duration.between(event.getCreatedAt(), now));
+        }
+        sentCounter.increment();
+    }
+
+    private void markFailed(OutboxEvent event, String error) {
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            failedCounter.increment();
+            logger.warn("Giving up on outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(), error);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(event.getAttempts() - 1, 20));
+        event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff)));
+        retryCounter.increment();
+        logger.debug("Outbox event {} failed (attempt {}), retrying in {} ms: {}",
+                event.getId(), event.getAttempts(), backoff, error);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor taskExecutor) {
+            taskExecutor.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.islandscholars.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.islandscholars.model.Application;
+import com.islandscholars.model.OutboxEvent;
+import com.islandscholars.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class NotificationOutboxService {
+
+    public static final String APPLICATION_CREATED = "APPLICATION_CREATED";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Must join the caller's transaction so the event commits or rolls back with the application
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueApplicationCreated(Application application) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", APPLICATION_CREATED);
+        payload.put("applicationId", application.getId());
+        payload.put("internshipId", application.getInternship().getId());
+        payload.put("studentId", application.getStudent().getId());
+
+        outboxEventRepository.save(new OutboxEvent(APPLICATION_CREATED, toJson(payload)));
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification payload", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.islandscholars.service;
+
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.model.Industry;
+import com.islandscholars.model.OrganizationProfile;
+import com.islandscholars.repository.OrganizationProfileRepository;
+import com.islandscholars.search.InternshipFilterIndex;
+import com.islandscholars.search.SkillMatchIndex;
+import com.islandscholars.util.AfterCommit;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class OrganizationService {
+
+    @Autowired
+    private OrganizationProfileRepository organizationProfileRepository;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private InternshipFilterIndex filterIndex;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.ORGANIZATION_LISTS, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<OrganizationProfile> getAllOrganizations() {
+        return initialized(organizationProfileRepository.findAll());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ORGANIZATION_LISTS, key = "#industry")
+    @Transactional(readOnly = true)
+    public List<OrganizationProfile> getOrganizationsByIndustry(Industry industry) {
+        return initialized(organizationProfileRepository.findByIndustry(industry));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ORGANIZATION_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<OrganizationProfile> getOrganizationById(Long id) {
+        return organizationProfileRepository.findById(id).map(this::initialized);
+    }
+
+    public List<OrganizationProfile> searchOrganizations(String companyName) {
+        return organizationProfileRepository.findByCompanyNameContainingIgnoreCase(companyName);
+    }
+
+    // Runs inside registerUser's transaction on signup, so the indexes and the cached
+    // lists only change once the organization has committed
+    public OrganizationProfile createOrganization(OrganizationProfile organizationProfile) {
+        // Before save opens its transaction, see TagDictionary
+        tagDictionary.registerAll(organizationProfile.getDesiredSkills());
+        OrganizationProfile saved = organizationProfileRepository.save(organizationProfile);
+        AfterCommit.run(() -> {
+            skillMatchIndex.indexOrganization(saved);
+            filterIndex.indexOrganization(saved.getUser().getId(), saved.getIndustry());
+            typeaheadService.indexOrganization(saved);
+            cacheManager.getCache(CacheConfig.ORGANIZATION_LISTS).clear();
+        });
+        return saved;
+    }
+
+    // Cached entities outlive their session, so lazy collections are loaded up front
+    private List<OrganizationProfile> initialized(List<OrganizationProfile> organizations) {
+        organizations.forEach(this::initialized);
+        return organizations;
+    }
+
+    private OrganizationProfile initialized(OrganizationProfile organization) {
+        Hibernate.initialize(organization.getDesiredSkills());
+        return organization;
+    }
+}
@@ -0,0 +1,102 @@
+package com.islandscholars.service;
+
+import com.islandscholars.dto.recommendation.InternshipRecommendation;
+import com.islandscholars.dto.recommendation.StudentRecommendation;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.StudentProfile;
+import com.islandscholars.repository.ApplicationRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.OrganizationProfileRepository;
+import com.islandscholars.repository.StudentProfileRepository;
+import com.islandscholars.search.SkillMatchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Skill-based matching between students and internships. Ranking runs entirely in
+ * {@link SkillMatchIndex}; only the returned top hits are loaded from the database.
+ */
+@Service
+public class RecommendationService {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private OrganizationProfileRepository organizationProfileRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmSkillIndex() {
+        long started = System.currentTimeMillis();
+        skillMatchIndex.rebuild(internshipRepository.findAllWithSkills(),
+                studentProfileRepository.findAllWithSkills(),
+                organizationProfileRepository.findAllWithDesiredSkills());
+        logger.info("Indexed skills of {} students and {} internships in {} ms", skillMatchIndex.studentCount(),
+                skillMatchIndex.internshipCount(), System.currentTimeMillis() - started);
+    }
+
+    /** Open internships that fit the student's skills best, leaving out those already applied to. */
+    public List<InternshipRecommendation> recommendInternships(Long studentId, Integer size) {
+        List<SkillMatchIndex.Match> matches = skillMatchIndex.topInternships(studentId, LocalDate.now(),
+                new HashSet<>(applicationRepository.findInternshipIdsByStudentId(studentId)), limit(size));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Internship> byId = internshipRepository.findAllById(
+                        matches.stream().map(SkillMatchIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(Internship::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> byId.containsKey(match.id()))
+                .map(match -> new InternshipRecommendation(byId.get(match.id()), match.score(), match.matchedSkills()))
+                .toList();
+    }
+
+    /** Students whose skills cover the internship best; the caller checks the internship's ownership. */
+    @Transactional(readOnly = true)
+    public List<StudentRecommendation> recommendStudents(Long internshipId, Integer size) {
+        List<SkillMatchIndex.Match> matches = skillMatchIndex.topStudents(internshipId, limit(size));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, StudentProfile> byUserId = studentProfileRepository.findByUserIdIn(
+                        matches.stream().map(SkillMatchIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(profile -> profile.getUser().getId(), Function.identity()));
+        return matches.stream()
+                .filter(match -> byUserId.containsKey(match.id()))
+                .map(match -> StudentRecommendation.of(byUserId.get(match.id()), match.score(), match.matchedSkills()))
+                .toList();
+    }
+
+    private static int limit(Integer size) {
+        return size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
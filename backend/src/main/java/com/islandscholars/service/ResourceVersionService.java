@@ -0,0 +1,134 @@
+package com.islandscholars.service;
+
+import com.islandscholars.config.CacheConfig;
+import com.islandscholars.dto.ResourceVersion;
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.EventStatus;
+import com.islandscholars.repository.EventRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.UniversityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Validators for conditional GETs on the public catalog, so a request whose
+ * {@code If-None-Match} still matches is answered 304 from a cached aggregate without
+ * loading any entity.
+ *
+ * <p>Cached versions are keyed by a per-catalog generation instead of being evicted.
+ * Writers call {@link #changed} and the generation moves once their transaction has
+ * committed, so a version computed from rows read before the commit can never be found
+ * again afterwards.
+ */
+@Service
+public class ResourceVersionService {
+
+    public enum Catalog { INTERNSHIPS, EVENTS, UNIVERSITIES }
+
+    private record Key(Catalog catalog, long generation, Object query) {}
+
+    private record InternshipCatalogQuery(LocalDate today, String title, String location, Duration duration,
+                                          Boolean isRemote) {}
+
+    private record UniversitySearch(String name) {}
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Map<Catalog, AtomicLong> generations = new EnumMap<>(Catalog.class);
+
+    public ResourceVersionService() {
+        for (Catalog catalog : Catalog.values()) {
+            generations.put(catalog, new AtomicLong());
+        }
+    }
+
+    /** Marks the catalog as changed when the current transaction commits, or at once outside one. */
+    public void changed(Catalog catalog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.get(catalog).incrementAndGet();
+                }
+            });
+        } else {
+            generations.get(catalog).incrementAndGet();
+        }
+    }
+
+    public Optional<ResourceVersion> internship(Long id) {
+        return Optional.ofNullable(cached(Catalog.INTERNSHIPS, id,
+                () -> internshipRepository.findVersionById(id).orElse(null)));
+    }
+
+    /**
+     * The open internships a catalog page with these filters is chosen from. Skill and
+     * distance filters only narrow that set, so they are left out; with facets the
+     * location, duration and remote filters are too, as each facet counts past its own.
+     */
+    public ResourceVersion internshipCatalog(String title, String location, Duration duration, Boolean isRemote,
+                                             boolean facets) {
+        InternshipCatalogQuery query = facets
+                ? new InternshipCatalogQuery(LocalDate.now(), title, null, null, null)
+                : new InternshipCatalogQuery(LocalDate.now(), title, location, duration, isRemote);
+        return cached(Catalog.INTERNSHIPS, query, () -> internshipRepository.findCatalogVersion(
+                query.today(), query.title(), query.location(), query.duration(), query.isRemote()));
+    }
+
+    public Optional<ResourceVersion> event(Long id) {
+        return Optional.ofNullable(cached(Catalog.EVENTS, id,
+                () -> eventRepository.findVersionById(id).orElse(null)));
+    }
+
+    public ResourceVersion activeEvents() {
+        return cached(Catalog.EVENTS, "active", () -> eventRepository.findVersionByStatusAndStartDateAfter(
+                EventStatus.ACTIVE, LocalDateTime.now()));
+    }
+
+    public ResourceVersion upcomingEvents() {
+        return cached(Catalog.EVENTS, "upcoming", () -> ResourceVersion.of(
+                eventRepository.findUpdatedAtByStatusAndStartDateAfter(EventStatus.ACTIVE, LocalDateTime.now(),
+                        PageRequest.of(0, EventService.UPCOMING_SIZE)),
+                Function.identity()));
+    }
+
+    public Optional<ResourceVersion> university(Long id) {
+        return Optional.ofNullable(cached(Catalog.UNIVERSITIES, id,
+                () -> universityRepository.findVersionById(id).orElse(null)));
+    }
+
+    public ResourceVersion universities(String search) {
+        String name = search == null || search.isEmpty() ? null : search;
+        return cached(Catalog.UNIVERSITIES, new UniversitySearch(name),
+                () -> universityRepository.findVersionByNameContaining(name));
+    }
+
+    private ResourceVersion cached(Catalog catalog, Object query, Supplier<ResourceVersion> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.RESOURCE_VERSIONS);
+        return cache.get(new Key(catalog, generations.get(catalog).get(), query), loader::get);
+    }
+}
@@ -0,0 +1,314 @@
+package com.islandscholars.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.islandscholars.dto.RosterImportJob;
+import com.islandscholars.dto.auth.SignupRequest;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.StudentProfile;
+import com.islandscholars.model.University;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.StudentProfileRepository;
+import com.islandscholars.repository.UniversityRepository;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.search.SkillMatchIndex;
+import com.islandscholars.security.PasswordHashingExecutor;
+import com.islandscholars.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Onboards a university's student intake from a CSV roster. The upload is spooled to a
+ * temporary file and imported in the background so the caller can poll progress.
+ * Rows are handled in chunks: duplicates are found with one query per column, passwords
+ * are hashed across the {@link PasswordHashingExecutor} pool, and users and student
+ * profiles are inserted in JDBC batches inside one transaction per chunk.
+ */
+@Service
+public class RosterImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterImportService.class);
+
+    private static final Set<String> LIST_COLUMNS = Set.of("skills");
+
+    // Finished jobs stay queryable for this long
+    private static final long JOB_RETENTION_HOURS = 24;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentProfileRepository studentProfileRepository;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int chunkSize;
+    private final int maxRows;
+    private final Map<String, RosterImportJob> jobs = new ConcurrentHashMap<>();
+
+    // One roster at a time: the hashing pool already uses every core
+    private final ThreadPoolExecutor jobExecutor;
+
+    public RosterImportService(@Value("${roster.chunk-size:200}") int chunkSize,
+                               @Value("${roster.max-rows:20000}") int maxRows,
+                               @Value("${roster.max-queued-jobs:8}") int maxQueuedJobs) {
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.jobExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), new CustomizableThreadFactory("roster-import-"));
+    }
+
+    /**
+     * Spools the roster and queues it for import.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if too many rosters are already queued
+     */
+    public RosterImportJob submit(University university, InputStream body) throws IOException {
+        pruneFinishedJobs();
+
+        Path spool = Files.createTempFile("roster-", ".csv");
+        Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+
+        RosterImportJob job = new RosterImportJob(UUID.randomUUID().toString(), university.getId());
+        try {
+            jobExecutor.execute(() -> run(job, spool));
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<RosterImportJob> getJob(String jobId, Long universityId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUniversityId().equals(universityId));
+    }
+
+    private void run(RosterImportJob job, Path spool) {
+        job.setState(RosterImportJob.State.RUNNING);
+        try {
+            job.setTotalRows(Math.min(countRows(spool), maxRows));
+            importRoster(job, spool);
+            job.setState(RosterImportJob.State.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Roster import {} failed", job.getId(), e);
+            job.setFailure(e.getMessage());
+            job.setState(RosterImportJob.State.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                logger.warn("Could not delete roster spool {}", spool, e);
+            }
+        }
+    }
+
+    private void importRoster(RosterImportJob job, Path spool) throws IOException {
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<RosterRow> chunk = new ArrayList<>(chunkSize);
+
+        try (Reader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            List<String> record;
+            while (header != null && (record = csv.readRecord()) != null) {
+                int line = csv.getRecordLine();
+                if (job.getResult().getReceived() >= maxRows) {
+                    job.getResult().recordRejected(line, "Roster is limited to " + maxRows + " rows; the rest was ignored");
+                    break;
+                }
+                job.getResult().recordReceived();
+
+                SignupRequest request;
+                try {
+                    request = objectMapper.convertValue(CsvReader.toMap(header, record, LIST_COLUMNS), SignupRequest.class);
+                } catch (IllegalArgumentException e) {
+                    job.getResult().recordRejected(line, e.getCause() instanceof JsonProcessingException cause
+                            ? cause.getOriginalMessage() : e.getMessage());
+                    continue;
+                }
+                request.setRole(Role.STUDENT);
+
+                Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    job.getResult().recordRejected(line, violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                // Duplicates within the upload are caught here, duplicates of existing users per chunk
+                if (!seenUsernames.add(request.getUsername())) {
+                    job.getResult().recordRejected(line, "Username appears earlier in the roster");
+                    continue;
+                }
+                if (!seenEmails.add(request.getEmail())) {
+                    job.getResult().recordRejected(line, "Email appears earlier in the roster");
+                    continue;
+                }
+
+                chunk.add(new RosterRow(line, request));
+                if (chunk.size() >= chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(job, chunk);
+    }
+
+    private void importChunk(RosterImportJob job, List<RosterRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.request().getEmail()).toList()));
+
+        List<RosterRow> accepted = new ArrayList<>(chunk.size());
+        for (RosterRow row : chunk) {
+            if (takenUsernames.contains(row.request().getUsername())) {
+                job.getResult().recordRejected(row.line(), "Username is already taken");
+            } else if (takenEmails.contains(row.request().getEmail())) {
+                job.getResult().recordRejected(row.line(), "Email is already in use");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashingExecutor.encodeAll(
+                accepted.stream().map(row -> row.request().getPassword()).toList());
+
+        // Before the chunk's transaction opens, see TagDictionary
+        accepted.forEach(row -> tagDictionary.registerAll(row.request().getSkills()));
+
+        try {
+            List<StudentProfile> saved = new TransactionTemplate(transactionManager).execute(status -> {
+                University university = universityRepository.getReferenceById(job.getUniversityId());
+                List<User> users = new ArrayList<>(accepted.size());
+                List<StudentProfile> profiles = new ArrayList<>(accepted.size());
+                for (int i = 0; i < accepted.size(); i++) {
+                    SignupRequest request = accepted.get(i).request();
+                    User user = new User(request.getUsername(), request.getEmail(), hashes.get(i),
+                            request.getFirstName(), request.getLastName(), Role.STUDENT);
+                    user.setPhoneNumber(request.getPhoneNumber());
+                    user.setLocation(request.getLocation());
+                    user.setBio(request.getBio());
+                    users.add(user);
+
+                    StudentProfile profile = new StudentProfile();
+                    profile.setUser(user);
+                    profile.setUniversity(university);
+                    profile.setStudentId(request.getStudentId());
+                    profile.setYearOfStudy(request.getYearOfStudy());
+                    profile.setFieldOfStudy(request.getFieldOfStudy());
+                    profile.setSkills(request.getSkills());
+                    profiles.add(profile);
+                }
+                userRepository.saveAll(users);
+                // Flushed through the repository so constraint violations arrive as DataAccessException
+                studentProfileRepository.saveAllAndFlush(profiles);
+                entityManager.clear();
+                return profiles;
+            });
+            skillMatchIndex.indexStudents(saved);
+            typeaheadService.studentsJoined(job.getUniversityId(), saved.size());
+            job.getResult().recordImported(accepted.size());
+        } catch (DataAccessException e) {
+            // Most likely a concurrent signup took one of the names after the duplicate check
+            String message = "Rejected with its chunk: " + e.getMostSpecificCause().getMessage();
+            accepted.forEach(row -> job.getResult().recordRejected(row.line(), message));
+        }
+    }
+
+    private int countRows(Path spool) throws IOException {
+        try (Reader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            int records = 0;
+            while (csv.readRecord() != null) {
+                records++;
+            }
+            // The first record is the header
+            return Math.max(0, records - 1);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(JOB_RETENTION_HOURS);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private record RosterRow(int line, SignupRequest request) {}
+}
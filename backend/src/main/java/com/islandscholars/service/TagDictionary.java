@@ -0,0 +1,270 @@
+package com.islandscholars.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory view of the {@code tags} dictionary: normalized name or alias to id, and
+ * id to display name. Both directions are answered from memory once the dictionary
+ * is loaded (on first use), so reading skills back into entities costs no queries.
+ *
+ * <p>Unknown names are registered on their own auto-committed connection rather than
+ * the caller's transaction, as a tag must survive a rollback of that transaction: its
+ * id may already be cached here and on other nodes. Writers call {@link #registerAll}
+ * before their transaction opens, so the converter finds every name in memory while
+ * Hibernate flushes and no request holds two pool connections at once. Concurrent
+ * registrations of one name meet on the unique {@code normalized_name} and all read
+ * back the same row. Reads join the caller's connection when there is one.
+ */
+@Service
+public class TagDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagDictionary.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final DataSource dataSource;
+
+    // Normalized names and normalized aliases both map to the tag id
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public TagDictionary(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * The key two spellings are merged on: Unicode compatibility forms folded (NFKC),
+     * whitespace trimmed and collapsed, lower-cased. "  Java  Script" and "java script"
+     * share a key; "JS" needs an alias.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC).trim();
+        return WHITESPACE.matcher(folded).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /** Id of the tag for {@code name}, registering it if it is new; null for a blank name. */
+    public Integer idFor(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return null;
+        }
+        ensureLoaded();
+        Integer id = ids.get(key);
+        return id != null ? id : register(displayName(name), key);
+    }
+
+    /**
+     * Registers those of {@code names} that are not known yet. Call it before opening the
+     * transaction that writes them, so the converter does not register during the flush.
+     */
+    public void registerAll(Collection<String> names) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            idFor(name);
+        }
+    }
+
+    /** Id of the tag for {@code name} if it is already known; never registers. */
+    public Optional<Integer> find(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        return Optional.ofNullable(ids.get(key));
+    }
+
+    /** Display name of the tag; rows registered by another node since loading are read on demand. */
+    public String nameOf(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        ensureLoaded();
+        String name = names.get(id);
+        if (name == null) {
+            name = query("SELECT name FROM tags WHERE id = ?", statement -> statement.setInt(1, id),
+                    resultSet -> resultSet.getString(1));
+            if (name == null) {
+                throw new IllegalStateException("Unknown tag id " + id);
+            }
+            names.put(id, name);
+        }
+        return name;
+    }
+
+    /**
+     * Makes {@code alias} resolve to the tag for {@code canonical} from now on, replacing
+     * whatever the alias pointed to before. Returns the canonical tag's id.
+     */
+    public Integer alias(String alias, String canonical) {
+        String key = normalize(alias);
+        Integer id = idFor(canonical);
+        if (key.isEmpty() || id == null || key.equals(normalize(canonical))) {
+            return id;
+        }
+        withConnection(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE tag_aliases SET tag_id = ? WHERE alias = ?")) {
+                update.setInt(1, id);
+                update.setString(2, key);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement(
+                            "INSERT INTO tag_aliases (alias, tag_id) VALUES (?, ?) ON CONFLICT DO NOTHING")) {
+                        insert.setString(1, key);
+                        insert.setInt(2, id);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            return null;
+        });
+        ids.put(key, id);
+        return id;
+    }
+
+    /** Id of the tag whose own normalized name is {@code name}, ignoring aliases. */
+    public Optional<Integer> findByNormalizedName(String name) {
+        String key = normalize(name);
+        return Optional.ofNullable(query("SELECT id FROM tags WHERE normalized_name = ?",
+                statement -> statement.setString(1, key), resultSet -> resultSet.getInt(1)));
+    }
+
+    public int size() {
+        ensureLoaded();
+        return names.size();
+    }
+
+    private Integer register(String name, String key) {
+        Integer id = withConnection(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO tags (id, name, normalized_name) VALUES (nextval('tags_seq'), ?, ?) " +
+                    "ON CONFLICT DO NOTHING")) {
+                insert.setString(1, name);
+                insert.setString(2, key);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id, name FROM tags WHERE normalized_name = ?")) {
+                select.setString(1, key);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new IllegalStateException("Tag '" + name + "' was not registered");
+                    }
+                    names.put(resultSet.getInt(1), resultSet.getString(2));
+                    return resultSet.getInt(1);
+                }
+            }
+        });
+        ids.putIfAbsent(key, id);
+        logger.debug("Registered tag '{}' as {}", name, id);
+        return id;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            read(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    try (ResultSet resultSet = statement.executeQuery("SELECT id, name, normalized_name FROM tags")) {
+                        while (resultSet.next()) {
+                            names.put(resultSet.getInt(1), resultSet.getString(2));
+                            ids.putIfAbsent(resultSet.getString(3), resultSet.getInt(1));
+                        }
+                    }
+                    // Aliases win over a tag that happens to carry the alias as its own name
+                    try (ResultSet resultSet = statement.executeQuery("SELECT alias, tag_id FROM tag_aliases")) {
+                        while (resultSet.next()) {
+                            ids.put(resultSet.getString(1), resultSet.getInt(2));
+                        }
+                    }
+                }
+                return null;
+            });
+            loaded = true;
+            logger.info("Loaded {} tags and {} names and aliases", names.size(), ids.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Trimmed and whitespace-collapsed, original case kept
+    private static String displayName(String name) {
+        return WHITESPACE.matcher(Normalizer.normalize(name, Normalizer.Form.NFKC).trim()).replaceAll(" ");
+    }
+
+    private interface ConnectionWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private interface Reader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    private <T> T query(String sql, Binder binder, Reader<T> reader) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? reader.read(resultSet) : null;
+                }
+            }
+        });
+    }
+
+    // Committed rows only, so a read may share the caller's transaction instead of taking a second connection
+    private <T> T read(ConnectionWork<T> work) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Tag dictionary query failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // Deliberately not DataSourceUtils: the work must not join the caller's transaction
+    private <T> T withConnection(ConnectionWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Tag dictionary query failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.islandscholars.service;
+
+import com.islandscholars.dto.NameSuggestion;
+import com.islandscholars.model.OrganizationProfile;
+import com.islandscholars.model.University;
+import com.islandscholars.repository.OrganizationProfileRepository;
+import com.islandscholars.repository.UniversityRepository;
+import com.islandscholars.search.NameTypeahead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Name autocomplete for the university and organization pickers. Both lists are held in
+ * memory and ranked by popularity: registered students for a university, internships
+ * posted for an organization. Writers call in here after saving so suggestions and
+ * their ranking follow without a rebuild.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 20;
+
+    @Autowired
+    private UniversityRepository universityRepository;
+
+    @Autowired
+    private OrganizationProfileRepository organizationProfileRepository;
+
+    private final NameTypeahead universities = new NameTypeahead();
+    private final NameTypeahead organizations = new NameTypeahead();
+
+    // Internships point at the organization's user, suggestions carry the profile id
+    private final Map<Long, Long> organizationByUser = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmTypeahead() {
+        long started = System.currentTimeMillis();
+        universities.clear();
+        for (UniversityRepository.UniversityPopularity university : universityRepository.findPopularity()) {
+            universities.put(university.getId(), university.getName(), university.getStudents().intValue());
+        }
+        organizations.clear();
+        organizationByUser.clear();
+        for (OrganizationProfileRepository.OrganizationPopularity organization : organizationProfileRepository.findPopularity()) {
+            organizations.put(organization.getId(), organization.getName(), organization.getInternships().intValue());
+            organizationByUser.put(organization.getUserId(), organization.getId());
+        }
+        logger.info("Indexed {} university and {} organization names for typeahead in {} ms", universities.size(),
+                organizations.size(), System.currentTimeMillis() - started);
+    }
+
+    public List<NameSuggestion> suggestUniversities(String query, Integer size) {
+        return universities.suggest(query, limit(size)).stream().map(NameSuggestion::of).toList();
+    }
+
+    public List<NameSuggestion> suggestOrganizations(String query, Integer size) {
+        return organizations.suggest(query, limit(size)).stream().map(NameSuggestion::of).toList();
+    }
+
+    public void indexUniversity(University university) {
+        universities.put(university.getId(), university.getName());
+    }
+
+    public void removeUniversity(Long id) {
+        universities.remove(id);
+    }
+
+    public void studentsJoined(Long universityId, int count) {
+        if (universityId != null) {
+            universities.adjustPopularity(universityId, count);
+        }
+    }
+
+    public void indexOrganization(OrganizationProfile organization) {
+        organizations.put(organization.getId(), organization.getCompanyName());
+        organizationByUser.put(organization.getUser().getId(), organization.getId());
+    }
+
+    /** Counts {@code delta} internships posted (or, if negative, deleted) by the organization's user. */
+    public void internshipsPosted(Long organizationUserId, int delta) {
+        Long profileId = organizationUserId == null ? null : organizationByUser.get(organizationUserId);
+        if (profileId != null) {
+            organizations.adjustPopularity(profileId, delta);
+        }
+    }
+
+    private int limit(Integer size) {
+        return size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -1,9 +1,17 @@
 package com.islandscholars.service;
 
+import com.islandscholars.config.CacheConfig;
 import com.islandscholars.model.University;
 import com.islandscholars.repository.UniversityRepository;
+import com.islandscholars.util.AfterCommit;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,22 +22,53 @@ public class UniversityService {
     @Autowired
     private UniversityRepository universityRepository;
 
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Cacheable(cacheNames = CacheConfig.UNIVERSITY_LISTS, key = "'all'")
+    @Transactional(readOnly = true)
     public List<University> getAllUniversities() {
-        return universityRepository.findAll();
+        List<University> universities = universityRepository.findAll();
+        universities.forEach(this::initialized);
+        return universities;
     }
 
+    @Cacheable(cacheNames = CacheConfig.UNIVERSITY_BY_ID, unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<University> getUniversityById(Long id) {
-        return universityRepository.findById(id);
+        return universityRepository.findById(id).map(this::initialized);
     }
 
     public Optional<University> getUniversityByName(String name) {
         return universityRepository.findByName(name);
     }
 
+    // A university signup that rolls back must not leave its name in the typeahead or lists
     public University createUniversity(University university) {
-        return universityRepository.save(university);
+        // Before save opens its transaction, see TagDictionary
+        tagDictionary.registerAll(university.getPrograms());
+        University saved = universityRepository.save(university);
+        AfterCommit.run(() -> {
+            typeaheadService.indexUniversity(saved);
+            cacheManager.getCache(CacheConfig.UNIVERSITY_LISTS).clear();
+        });
+        resourceVersionService.changed(ResourceVersionService.Catalog.UNIVERSITIES);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.UNIVERSITY_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.UNIVERSITY_LISTS, allEntries = true)
+    })
     public University updateUniversity(Long id, University universityDetails) {
         University university = universityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("University not found"));
@@ -42,14 +81,30 @@ public class UniversityService {
         university.setFacultyCount(universityDetails.getFacultyCount());
         university.setPrograms(universityDetails.getPrograms());
 
-        return universityRepository.save(university);
+        tagDictionary.registerAll(university.getPrograms());
+        University saved = universityRepository.save(university);
+        typeaheadService.indexUniversity(saved);
+        resourceVersionService.changed(ResourceVersionService.Catalog.UNIVERSITIES);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.UNIVERSITY_BY_ID, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.UNIVERSITY_LISTS, allEntries = true)
+    })
     public void deleteUniversity(Long id) {
         universityRepository.deleteById(id);
+        typeaheadService.removeUniversity(id);
+        resourceVersionService.changed(ResourceVersionService.Catalog.UNIVERSITIES);
     }
 
     public List<University> searchUniversities(String name) {
         return universityRepository.findByNameContainingIgnoreCase(name);
     }
+
+    // Cached entities outlive their session, so lazy collections are loaded up front
+    private University initialized(University university) {
+        Hibernate.initialize(university.getPrograms());
+        return university;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.islandscholars.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of in-memory state (search indexes, caches) until the surrounding
+ * transaction has committed, so a rollback leaves them untouched and other requests
+ * never see rows that are not visible in the database yet.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    /** Runs {@code action} once the current transaction commits, or at once outside one. */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.islandscholars.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming RFC 4180 reader: comma separated, double-quoted fields may contain
+ * commas, line breaks and doubled quotes. Reads one record at a time so large
+ * uploads never have to be held in memory.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int pushedBack = -2;
+    private int line = 1;
+    private int recordLine = 1;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Line number on which the record last returned by {@link #readRecord()} started. */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    /** Returns the next record, or null at end of input. Blank lines are skipped. */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Pairs a record with its header. Blank cells are left out, and cells in
+     * {@code listColumns} become lists split on ';'. The result binds to a bean
+     * through Jackson's convertValue.
+     */
+    public static Map<String, Object> toMap(List<String> header, List<String> record, Set<String> listColumns) {
+        if (record.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + record.size());
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = header.get(i).trim();
+            if (listColumns.contains(column)) {
+                List<String> items = new ArrayList<>();
+                for (String item : value.split(";")) {
+                    if (!item.isBlank()) {
+                        items.add(item.trim());
+                    }
+                }
+                values.put(column, items);
+            } else {
+                values.put(column, value);
+            }
+        }
+        return values;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = reader.read();
+            if (c == '\n') {
+                line++;
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,95 @@
+package com.islandscholars.config;
+
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.service.TagDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A tag registered under an alias's spelling is merged into the canonical tag when the
+ * alias is seeded. A merge that fails part way leaves no alias behind, so the next start
+ * finds the shadowed tag and merges every table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TagMigrationTest {
+
+    @Autowired
+    private TagMigration tagMigration;
+
+    @Autowired
+    private TagDictionary tagDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void interruptedMergeIsCompletedOnTheNextRun() {
+        Integer shadowed = tagDictionary.idFor("reactjs");
+        Long internshipId = internshipWithSkill("reactjs");
+        ReflectionTestUtils.setField(tagMigration, "aliases", List.of("reactjs=React"));
+
+        // The last table of the merge is missing, as if startup died before reaching it
+        jdbcTemplate.execute("ALTER TABLE university_program_ids RENAME TO university_program_ids_moved");
+        try {
+            assertThatThrownBy(() -> tagMigration.run()).isInstanceOf(RuntimeException.class);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE university_program_ids_moved RENAME TO university_program_ids");
+        }
+
+        assertThat(aliasRows("reactjs")).isZero();
+        assertThat(tagIdsOf(internshipId)).containsExactly(shadowed);
+
+        tagMigration.run();
+
+        Integer canonical = tagDictionary.find("React").orElseThrow();
+        assertThat(aliasRows("reactjs")).isEqualTo(1);
+        assertThat(tagIdsOf(internshipId)).containsExactly(canonical);
+        assertThat(tagDictionary.find("reactjs")).contains(canonical);
+    }
+
+    private Long internshipWithSkill(String skill) {
+        User organization = userRepository.save(
+                new User("tagorg", "tagorg@example.com", "secret", "Island", "Labs", Role.ORGANIZATION));
+        Internship internship = new Internship();
+        internship.setOrganization(organization);
+        internship.setTitle("Frontend internship");
+        internship.setDescription("Builds the web client");
+        internship.setRequirements("None");
+        internship.setDuration(Duration.THREE_MONTHS);
+        internship.setLocation("Victoria");
+        internship.setApplicationDeadline(LocalDate.now().plusDays(30));
+        internship.setSkillsRequired(List.of(skill));
+        return internshipRepository.save(internship).getId();
+    }
+
+    private int aliasRows(String alias) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tag_aliases WHERE alias = ?", Integer.class, alias);
+    }
+
+    private List<Integer> tagIdsOf(Long internshipId) {
+        return jdbcTemplate.queryForList("SELECT tag_id FROM internship_skill_ids WHERE internship_id = ?",
+                Integer.class, internshipId);
+    }
+}
@@ -0,0 +1,151 @@
+package com.islandscholars.repository;
+
+import com.islandscholars.model.Application;
+import com.islandscholars.model.ApplicationStatus;
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+import com.islandscholars.search.Gazetteer;
+import com.islandscholars.service.AuthService;
+import com.islandscholars.service.TagDictionary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The application listings serialize the student, the internship, its organization and
+ * its skills. Each listing must load all of that in one statement however many
+ * applications it returns.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TagDictionary.class, Gazetteer.class})
+class ApplicationRepositoryTest {
+
+    // The application class creates the admin user on startup; not part of this slice
+    @MockBean
+    private AuthService authService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void studentListingIsOneStatement(int applications) {
+        Fixture fixture = persistApplications(applications);
+
+        List<Application> listing = countStatements(() -> touch(applicationRepository.findByStudent(fixture.student)));
+
+        assertThat(listing).hasSize(applications);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void organizationListingIsOneStatement(int applications) {
+        Fixture fixture = persistApplications(applications);
+
+        List<Application> listing = countStatements(
+                () -> touch(applicationRepository.findByInternshipOrganization(fixture.organization)));
+
+        assertThat(listing).hasSize(applications);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void statusListingsAreOneStatementEach(int applications) {
+        Fixture fixture = persistApplications(applications);
+
+        List<Application> byStudent = countStatements(() -> touch(
+                applicationRepository.findByStudentAndStatus(fixture.student, ApplicationStatus.PENDING)));
+        assertThat(byStudent).hasSize(applications);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<Application> byOrganization = countStatements(() -> touch(
+                applicationRepository.findByInternshipOrganizationAndStatus(fixture.organization, ApplicationStatus.PENDING)));
+        assertThat(byOrganization).hasSize(applications);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private record Fixture(User organization, User student) {}
+
+    // One organization and one student; the student applies to each of the organization's internships
+    private Fixture persistApplications(int count) {
+        User organization = entityManager.persist(
+                new User("org" + count, "org" + count + "@example.com", "secret", "Island", "Labs", Role.ORGANIZATION));
+        User student = entityManager.persist(
+                new User("student" + count, "student" + count + "@example.com", "secret", "Kai", "Lee", Role.STUDENT));
+
+        for (int i = 0; i < count; i++) {
+            Internship internship = new Internship();
+            internship.setOrganization(organization);
+            internship.setTitle("Internship " + i);
+            internship.setDescription("Description " + i);
+            internship.setRequirements("Requirements " + i);
+            internship.setDuration(Duration.THREE_MONTHS);
+            internship.setLocation("Victoria");
+            internship.setApplicationDeadline(LocalDate.now().plusDays(30));
+            internship.setSkillsRequired(List.of("Java", "SQL", "Skill " + i));
+            entityManager.persist(internship);
+
+            Application application = new Application();
+            application.setStudent(student);
+            application.setInternship(internship);
+            application.setCoverLetter("Cover letter " + i);
+            entityManager.persist(application);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new Fixture(organization, student);
+    }
+
+    private <T> T countStatements(Supplier<T> work) {
+        entityManager.clear();
+        statistics.clear();
+        return work.get();
+    }
+
+    // Reads every association the listing responses serialize, so a lazy load would be counted
+    private static List<Application> touch(List<Application> applications) {
+        for (Application application : applications) {
+            application.getStudent().getFirstName();
+            Internship internship = application.getInternship();
+            internship.getOrganization().getUsername();
+            internship.getSkillsRequired().size();
+        }
+        return applications;
+    }
+}
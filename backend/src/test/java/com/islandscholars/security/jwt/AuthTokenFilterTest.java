@@ -0,0 +1,91 @@
+package com.islandscholars.security.jwt;
+
+import com.islandscholars.model.Role;
+import com.islandscholars.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The login token is only read from the Authorization header and the stream token only
+ * from the URL of an event stream, so a URL that ends up in a log cannot sign anyone in.
+ */
+class AuthTokenFilterTest {
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+    private final AuthTokenFilter filter = new AuthTokenFilter(jwtUtils);
+    private final UserDetailsImpl student = UserDetailsImpl.fromClaims(7L, "student", Role.STUDENT);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "testSecret");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtils, "streamExpirationMs", 60_000L);
+        jwtUtils.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void streamTokenOpensAnEventStreamFromTheUrl() throws Exception {
+        Authentication authentication = filter(streamRequest(jwtUtils.generateStreamToken(student)));
+
+        assertThat(authentication).isNotNull();
+        assertThat(((UserDetailsImpl) authentication.getPrincipal()).getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void loginTokenIsNotReadFromTheUrl() throws Exception {
+        assertThat(filter(streamRequest(jwtUtils.generateJwtToken(student)))).isNull();
+    }
+
+    @Test
+    void streamTokenIsNotAcceptedAsBearerToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/applications/my-applications");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateStreamToken(student));
+
+        assertThat(filter(request)).isNull();
+    }
+
+    @Test
+    void streamTokenIsIgnoredOutsideEventStreams() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/applications/my-applications");
+        request.setParameter("access_token", jwtUtils.generateStreamToken(student));
+
+        assertThat(filter(request)).isNull();
+    }
+
+    @Test
+    void loginTokenStillWorksAsBearerToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/applications/my-applications");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateJwtToken(student));
+
+        assertThat(filter(request)).isNotNull();
+    }
+
+    private static MockHttpServletRequest streamRequest(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/applications/stream");
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        request.setParameter("access_token", token);
+        return request;
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
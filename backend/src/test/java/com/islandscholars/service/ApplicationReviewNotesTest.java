@@ -0,0 +1,91 @@
+package com.islandscholars.service;
+
+import com.islandscholars.model.Application;
+import com.islandscholars.model.ApplicationStatus;
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.ApplicationRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The single and the bulk status update treat reviewer notes the same way: notes that
+ * are passed replace the stored ones, omitted notes keep them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationReviewNotesTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void omittedNotesKeepTheStoredOnesOnBothPaths() {
+        User organization = userRepository.save(
+                new User("notesorg", "notesorg@example.com", "secret", "Island", "Labs", Role.ORGANIZATION));
+        Internship internship = new Internship();
+        internship.setOrganization(organization);
+        internship.setTitle("Reviewed internship");
+        internship.setDescription("Internship whose applications get reviewed");
+        internship.setRequirements("None");
+        internship.setDuration(Duration.THREE_MONTHS);
+        internship.setLocation("Victoria");
+        internship.setApplicationDeadline(LocalDate.now().plusDays(30));
+        internship = internshipRepository.save(internship);
+
+        Long single = apply("notesone", internship);
+        applicationService.updateApplicationStatus(single, ApplicationStatus.UNDER_REVIEW, "Strong portfolio");
+        applicationService.updateApplicationStatus(single, ApplicationStatus.ACCEPTED, null);
+        assertThat(applicationRepository.findById(single).orElseThrow())
+                .satisfies(application -> {
+                    assertThat(application.getStatus()).isEqualTo(ApplicationStatus.ACCEPTED);
+                    assertThat(application.getReviewerNotes()).isEqualTo("Strong portfolio");
+                });
+
+        Long bulk = apply("notestwo", internship);
+        applicationService.bulkUpdateStatus(organization.getId(), List.of(bulk), ApplicationStatus.UNDER_REVIEW,
+                "Strong portfolio");
+        applicationService.bulkUpdateStatus(organization.getId(), List.of(bulk), ApplicationStatus.REJECTED, null);
+        assertThat(applicationRepository.findById(bulk).orElseThrow())
+                .satisfies(application -> {
+                    assertThat(application.getStatus()).isEqualTo(ApplicationStatus.REJECTED);
+                    assertThat(application.getReviewerNotes()).isEqualTo("Strong portfolio");
+                });
+
+        applicationService.updateApplicationStatus(apply("notesthree", internship), ApplicationStatus.REJECTED,
+                "Position filled");
+        assertThat(applicationRepository.findByInternship(internship))
+                .filteredOn(application -> "Position filled".equals(application.getReviewerNotes()))
+                .hasSize(1);
+    }
+
+    private Long apply(String username, Internship internship) {
+        User student = userRepository.save(
+                new User(username, username + "@example.com", "secret", "Student", "Applicant", Role.STUDENT));
+        Application application = new Application();
+        application.setStudent(student);
+        application.setInternship(internship);
+        application.setCoverLetter("Please pick me");
+        return applicationService.createApplication(application).getId();
+    }
+}
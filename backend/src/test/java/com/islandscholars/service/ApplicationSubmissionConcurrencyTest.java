@@ -0,0 +1,137 @@
+package com.islandscholars.service;
+
+import com.islandscholars.model.Application;
+import com.islandscholars.model.Duration;
+import com.islandscholars.model.Internship;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.ApplicationRepository;
+import com.islandscholars.repository.InternshipRepository;
+import com.islandscholars.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of students submit to one popular internship at the same instant, each
+ * several times. Exactly maxApplicants submissions may be accepted, every other one
+ * must be refused as full or as a duplicate, and the internship's applicant count must
+ * match. The sizes follow the defaults of the ApplicationSubmissionStress benchmark.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationSubmissionConcurrencyTest {
+
+    private static final int STUDENTS = 300;
+    private static final int SUBMITS_PER_STUDENT = 3;
+    private static final int MAX_APPLICANTS = 50;
+    // Submitters blocked at once; the rest are released as these finish
+    private static final int SUBMITTER_THREADS = 200;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private InternshipRepository internshipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentSubmitsNeverExceedMaxApplicants() throws Exception {
+        User organization = userRepository.save(
+                new User("raceorg", "raceorg@example.com", "secret", "Island", "Labs", Role.ORGANIZATION));
+        Internship internship = new Internship();
+        internship.setOrganization(organization);
+        internship.setTitle("Popular internship");
+        internship.setDescription("Internship everyone applies to at once");
+        internship.setRequirements("None");
+        internship.setDuration(Duration.THREE_MONTHS);
+        internship.setLocation("Victoria");
+        internship.setApplicationDeadline(LocalDate.now().plusDays(30));
+        internship.setMaxApplicants(MAX_APPLICANTS);
+        Long internshipId = internshipRepository.save(internship).getId();
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new User("racer" + i, "racer" + i + "@example.com", "secret", "Student", "No" + i, Role.STUDENT));
+        }
+        students = userRepository.saveAll(students);
+
+        Map<Long, List<String>> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> submits = new ArrayList<>();
+        for (User student : students) {
+            for (int attempt = 0; attempt < SUBMITS_PER_STUDENT; attempt++) {
+                submits.add(() -> {
+                    start.await();
+                    outcomes.computeIfAbsent(student.getId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(submit(student, internshipId));
+                    return null;
+                });
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMITTER_THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> submit : submits) {
+                futures.add(executor.submit(submit));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Long> totals = outcomes.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.groupingBy(outcome -> outcome, Collectors.counting()));
+        assertThat(totals).containsOnlyKeys("ACCEPTED", "FULL", "DUPLICATE");
+        assertThat(totals.get("ACCEPTED")).isEqualTo(MAX_APPLICANTS);
+        assertThat(outcomes.values())
+                .allSatisfy(perStudent -> assertThat(perStudent).hasSize(SUBMITS_PER_STUDENT)
+                        .filteredOn("ACCEPTED"::equals).hasSizeLessThanOrEqualTo(1));
+
+        Internship stored = internshipRepository.findById(internshipId).orElseThrow();
+        assertThat(stored.getApplicantCount()).isEqualTo(MAX_APPLICANTS);
+        assertThat(applicationRepository.findByInternship(stored)).hasSize(MAX_APPLICANTS);
+    }
+
+    private String submit(User student, Long internshipId) {
+        Internship internship = new Internship();
+        internship.setId(internshipId);
+        Application application = new Application();
+        application.setStudent(student);
+        application.setInternship(internship);
+        application.setCoverLetter("Please pick me");
+        try {
+            applicationService.createApplication(application);
+            return "ACCEPTED";
+        } catch (ApplicationRejectedException e) {
+            return e.getReason().name();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.islandscholars.service;
+
+import com.islandscholars.dto.event.EventRegistrationResponse;
+import com.islandscholars.model.Event;
+import com.islandscholars.model.EventStatus;
+import com.islandscholars.model.EventType;
+import com.islandscholars.model.RegistrationStatus;
+import com.islandscholars.model.Role;
+import com.islandscholars.model.User;
+import com.islandscholars.repository.EventRepository;
+import com.islandscholars.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every student registers for one event at the same instant, twice. Exactly
+ * maxParticipants get a seat, the rest get distinct waitlist positions and every
+ * second attempt is refused. Seats freed by concurrent cancellations go to the head of
+ * the waitlist in order. The sizes are those of the EventRegistrationStress benchmark,
+ * scaled down to keep the build fast.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventRegistrationConcurrencyTest {
+
+    private static final int STUDENTS = 300;
+    private static final int MAX_PARTICIPANTS = 100;
+    private static final int CANCELLATIONS = 20;
+    // Callers blocked at once; the rest are released as these finish
+    private static final int CALLER_THREADS = 200;
+
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void seatsGoInArrivalOrderAndFreedSeatsToTheHeadOfTheWaitlist() throws Exception {
+        User organization = userRepository.save(
+                new User("eventorg", "eventorg@example.com", "secret", "Island", "Events", Role.ORGANIZATION));
+        Event event = new Event();
+        event.setOrganization(organization);
+        event.setTitle("Career fair");
+        event.setDescription("Event everyone registers for at once");
+        event.setEventType(EventType.CAREER_FAIR);
+        event.setStartDate(LocalDateTime.now().plusDays(14));
+        event.setEndDate(LocalDateTime.now().plusDays(15));
+        event.setLocation("Victoria");
+        event.setRegistrationDeadline(LocalDateTime.now().plusDays(7));
+        event.setMaxParticipants(MAX_PARTICIPANTS);
+        event.setStatus(EventStatus.ACTIVE);
+        Long eventId = eventRepository.save(event).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(new User("goer" + i, "goer" + i + "@example.com", "secret", "Student", "No" + i, Role.STUDENT));
+        }
+        List<Long> students = userRepository.saveAll(users).stream().map(User::getId).toList();
+
+        List<Callable<Object>> attempts = new ArrayList<>();
+        for (Long studentId : students) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                attempts.add(() -> {
+                    try {
+                        return eventRegistrationService.register(eventId, studentId);
+                    } catch (EventRegistrationException e) {
+                        return e.getReason();
+                    }
+                });
+            }
+        }
+        List<Object> outcomes = runAtOnce(attempts);
+
+        List<EventRegistrationResponse> accepted = new ArrayList<>();
+        int duplicates = 0;
+        for (Object outcome : outcomes) {
+            if (outcome instanceof EventRegistrationResponse response) {
+                accepted.add(response);
+            } else {
+                assertThat(outcome).isEqualTo(EventRegistrationException.Reason.ALREADY_REGISTERED);
+                duplicates++;
+            }
+        }
+        assertThat(duplicates).isEqualTo(STUDENTS);
+        assertThat(accepted).hasSize(STUDENTS);
+        assertThat(accepted).filteredOn(response -> response.getStatus() == RegistrationStatus.REGISTERED)
+                .hasSize(MAX_PARTICIPANTS);
+
+        // Waitlist position to student, as handed out to the waitlisted registrations
+        Map<Long, Long> waitlist = new TreeMap<>();
+        for (Long studentId : students) {
+            EventRegistrationResponse registration = eventRegistrationService.getRegistration(eventId, studentId).orElseThrow();
+            if (registration.getStatus() == RegistrationStatus.WAITLISTED) {
+                waitlist.put(registration.getWaitlistPosition(), studentId);
+            }
+        }
+        assertThat(waitlist.keySet()).containsExactlyElementsOf(positions(1, STUDENTS - MAX_PARTICIPANTS));
+        assertThat(eventRepository.findById(eventId).orElseThrow().getRegisteredCount()).isEqualTo(MAX_PARTICIPANTS);
+
+        List<Long> seated = students.stream()
+                .filter(studentId -> !waitlist.containsValue(studentId))
+                .limit(CANCELLATIONS)
+                .toList();
+        List<Callable<Object>> cancellations = new ArrayList<>();
+        for (Long studentId : seated) {
+            cancellations.add(() -> {
+                eventRegistrationService.cancel(eventId, studentId);
+                return null;
+            });
+        }
+        runAtOnce(cancellations);
+
+        for (Long studentId : seated) {
+            assertThat(eventRegistrationService.getRegistration(eventId, studentId)).isEmpty();
+        }
+        for (long position = 1; position <= waitlist.size(); position++) {
+            EventRegistrationResponse registration =
+                    eventRegistrationService.getRegistration(eventId, waitlist.get(position)).orElseThrow();
+            if (position <= CANCELLATIONS) {
+                assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.REGISTERED);
+            } else {
+                assertThat(registration.getStatus()).isEqualTo(RegistrationStatus.WAITLISTED);
+                assertThat(registration.getWaitlistPosition()).isEqualTo(position - CANCELLATIONS);
+            }
+        }
+        assertThat(eventRepository.findById(eventId).orElseThrow().getRegisteredCount()).isEqualTo(MAX_PARTICIPANTS);
+    }
+
+    private static List<Long> positions(long from, long to) {
+        List<Long> positions = new ArrayList<>();
+        for (long position = from; position <= to; position++) {
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    // Releases all tasks together so they reach the service as one burst
+    private static List<Object> runAtOnce(List<Callable<Object>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), CALLER_THREADS));
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(120, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.islandscholars.service;
+
+import com.islandscholars.dto.NameSuggestion;
+import com.islandscholars.dto.auth.SignupRequest;
+import com.islandscholars.model.Role;
+import com.islandscholars.repository.UserRepository;
+import com.islandscholars.search.SkillMatchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A signup that rolls back must leave the in-memory indexes as they were; one that
+ * commits must show up in them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SignupRollbackTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolledBackStudentSignupIsNotMatched() {
+        int students = skillMatchIndex.studentCount();
+
+        signUpAndRollBack(student("ghoststudent"));
+
+        assertThat(userRepository.existsByUsername("ghoststudent")).isFalse();
+        assertThat(skillMatchIndex.studentCount()).isEqualTo(students);
+
+        authService.registerUser(student("realstudent"));
+
+        assertThat(skillMatchIndex.studentCount()).isEqualTo(students + 1);
+    }
+
+    @Test
+    void rolledBackOrganizationAndUniversitySignupsAreNotSuggested() {
+        signUpAndRollBack(organization("ghostorg", "Phantom Reef Traders"));
+        signUpAndRollBack(university("ghostuni", "Phantom Lagoon University"));
+
+        assertThat(typeaheadService.suggestOrganizations("phantom", null)).isEmpty();
+        assertThat(typeaheadService.suggestUniversities("phantom", null)).isEmpty();
+
+        authService.registerUser(organization("realorg", "Coral Reef Traders"));
+        authService.registerUser(university("realuni", "Coral Lagoon University"));
+
+        assertThat(typeaheadService.suggestOrganizations("coral", null))
+                .extracting(NameSuggestion::getName).containsExactly("Coral Reef Traders");
+        assertThat(typeaheadService.suggestUniversities("coral", null))
+                .extracting(NameSuggestion::getName).containsExactly("Coral Lagoon University");
+    }
+
+    @Test
+    void rolledBackStudentSignupDoesNotCountTowardsItsUniversity() {
+        authService.registerUser(university("shoreuni", "Shoreline University"));
+
+        SignupRequest ghost = student("ghostgrad");
+        ghost.setUniversity("Shoreline University");
+        signUpAndRollBack(ghost);
+
+        assertThat(typeaheadService.suggestUniversities("shoreline", null))
+                .extracting(NameSuggestion::getPopularity).containsExactly(0);
+
+        SignupRequest real = student("realgrad");
+        real.setUniversity("Shoreline University");
+        authService.registerUser(real);
+
+        assertThat(typeaheadService.suggestUniversities("shoreline", null))
+                .extracting(NameSuggestion::getPopularity).containsExactly(1);
+    }
+
+    // The signup joins the outer transaction, which is then rolled back as a failed flush would
+    private void signUpAndRollBack(SignupRequest request) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            authService.registerUser(request);
+            status.setRollbackOnly();
+        });
+    }
+
+    private static SignupRequest student(String username) {
+        SignupRequest request = signup(username, Role.STUDENT);
+        request.setSkills(List.of("Java", "SQL"));
+        return request;
+    }
+
+    private static SignupRequest organization(String username, String companyName) {
+        SignupRequest request = signup(username, Role.ORGANIZATION);
+        request.setCompanyName(companyName);
+        request.setIndustry("TOURISM");
+        return request;
+    }
+
+    private static SignupRequest university(String username, String universityName) {
+        SignupRequest request = signup(username, Role.UNIVERSITY);
+        request.setUniversityName(universityName);
+        return request;
+    }
+
+    private static SignupRequest signup(String username, Role role) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("secret123");
+        request.setFirstName("First");
+        request.setLastName("Last");
+        request.setRole(role);
+        return request;
+    }
+}